@@ -0,0 +1,173 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.cyclonedx.Version;
+import org.cyclonedx.model.Bom;
+
+/**
+ * Synthetic inputs for the benchmarks, generated locally with the same TemurinGenSBOM
+ * methods the sbom.sh helpers call, so no release SBOMs, keys or network are needed.
+ *
+ * "realistic" is shaped like a Temurin release SBOM: a handful of components with a
+ * dozen properties each, the build tools, a few hundred build dependencies and a small
+ * build formulation. "stress" is an SBOM of a build recorded in full detail, with
+ * thousands of components and tens of thousands of formulation commands.
+ */
+final class TemurinBenchmarkFixtures {
+
+    static final String REALISTIC = "realistic";
+    static final String STRESS = "stress";
+
+    static final String EVIDENCE_SHA256 = "3c654d98404c073b8a7e66bffb27f4ae3e7ede47d13284c132d40a83144bfd8c";
+    static final String EVIDENCE = "Number of files: 108721\n"
+        + "Number of differences: 0\n"
+        + "ReproduciblePercent = 100 %\n"
+        + "Successful 100% Reproducible Verification\n"
+        + "Eclipse Temurin version: jdk-21.0.5+11\n"
+        + "                   arch: x64\n"
+        + "                     os: linux\n"
+        + "                 sha256: " + EVIDENCE_SHA256 + "\n";
+
+    private TemurinBenchmarkFixtures() {
+    }
+
+    /**
+     * Builds a synthetic SBOM.
+     * @param size REALISTIC or STRESS.
+     * @return The SBOM.
+     */
+    static Bom sbom(final String size) {
+        switch (size) {
+            case REALISTIC:
+                return sbom(8, 12, 10, 300, 2, 5, 10);
+            case STRESS:
+                return sbom(2000, 50, 100, 5000, 20, 20, 50);
+            default:
+                throw new IllegalArgumentException("Unknown fixture size: " + size);
+        }
+    }
+
+    // Builds an SBOM with the given numbers of each element, as the sbom.sh helpers do
+    static Bom sbom(final int components, final int properties, final int tools, final int dependencies,
+                    final int workflows, final int steps, final int commands) {
+        Bom bom = TemurinGenSBOM.createBom();
+        TemurinGenSBOM.addMetadata(bom);
+        TemurinGenSBOM.addMetadataComponent(bom, "Eclipse Temurin", "framework", "21.0.5+11", "JDK");
+        TemurinGenSBOM.addMetadataProperty(bom, "OS version", "Ubuntu 22.04");
+        for (int t = 0; t < tools; t++) {
+            TemurinGenSBOM.addMetadataTools(bom, "Tool " + t, "1." + t);
+        }
+
+        TemurinSBOMIndex index = TemurinSBOMIndex.of(bom);
+        for (int c = 0; c < components; c++) {
+            String name = "Component " + c;
+            TemurinGenSBOM.addComponent(index, name, "21.0.5+11", "Synthetic component " + c);
+            TemurinGenSBOM.addComponentHash(index, name, EVIDENCE_SHA256);
+            for (int p = 0; p < properties; p++) {
+                TemurinGenSBOM.addComponentProperty(index, name, "Property " + p, "value-" + c + "-" + p);
+            }
+        }
+
+        TemurinGenSBOM.addFormulation(index, "Build Dependencies");
+        for (int d = 0; d < dependencies; d++) {
+            TemurinGenSBOM.addFormulationComp(index, "Build Dependencies", "package-" + d, "framework");
+            TemurinGenSBOM.addFormulationCompProp(index, "Build Dependencies", "package-" + d, "version", "1.0." + d);
+        }
+
+        TemurinGenSBOM.addFormulation(index, "Build");
+        for (int w = 0; w < workflows; w++) {
+            String workflow = "workflow-" + w;
+            TemurinGenSBOM.addWorkflow(index, "Build", workflow, "uid-" + w, "Workflow " + w, "build");
+            for (int s = 0; s < steps; s++) {
+                String step = "step-" + s;
+                TemurinGenSBOM.addWorkflowStep(index, "Build", workflow, step, "Step " + s);
+                for (int n = 0; n < commands; n++) {
+                    TemurinGenSBOM.addWorkflowStepCmd(index, "Build", workflow, step,
+                        "gcc -O2 -c src/hotspot/share/file" + n + ".cpp -o build/file" + n + ".o");
+                }
+            }
+        }
+        return index.getBom();
+    }
+
+    // Writes the SBOM as JSON, and XML if xmlFile is not null
+    static void write(final Bom bom, final Path jsonFile, final Path xmlFile) throws IOException {
+        TemurinBomWriter.writeJson(bom, Version.VERSION_16, jsonFile.toString());
+        if (xmlFile != null) {
+            TemurinBomWriter.writeXml(bom, Version.VERSION_16, xmlFile.toString());
+        }
+    }
+
+    // Writes an RSA 2048 key pair as PKCS#8 and X.509 PEM files, like runSignAndVerifySBOM's openssl keys
+    static void writeKeys(final Path privatePem, final Path publicPem) throws IOException, GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+        Files.write(privatePem, pem("PRIVATE KEY", keys.getPrivate().getEncoded()));
+        Files.write(publicPem, pem("PUBLIC KEY", keys.getPublic().getEncoded()));
+    }
+
+    private static byte[] pem(final String type, final byte[] der) {
+        String body = Base64.getMimeEncoder(64, new byte[] {'\n'}).encodeToString(der);
+        return ("-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Starts a loopback stand-in for the Adoptium checksum API, answering every query
+     * with the hash of the evidence.
+     * @return The started server; the caller stops it.
+     * @throws IOException If no loopback port is available.
+     */
+    static HttpServer startChecksumServer() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        byte[] response = (EVIDENCE_SHA256 + "  OpenJDK21U-jdk_x64_linux_hotspot_21.0.5_11.tar.gz\n").getBytes(StandardCharsets.US_ASCII);
+        server.createContext("/v3/checksum/", exchange -> {
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    // The base URL of the stand-in, for TemurinGenCDXA.setAdoptiumApiUrl
+    static String url(final HttpServer server) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    static void delete(final Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
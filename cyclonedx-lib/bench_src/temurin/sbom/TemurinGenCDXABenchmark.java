@@ -0,0 +1,143 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.cyclonedx.exception.GeneratorException;
+import org.cyclonedx.model.Bom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * TemurinGenCDXA attestation creation from reproducibility evidence, alone and with
+ * JSON or XML serialization. The Adoptium checksum API is replaced by a loopback
+ * stand-in, so the HTTP round trip is measured without the network. The stand-in sets
+ * TCP_NODELAY, or delayed acknowledgements would add 40ms to every query. createCdxaCached
+ * takes the checksum from a --checksum-cache file instead, with no HTTP round trip.
+ * scanEvidenceLarge extracts the evidence fields from evidence with 100000 lines of diff
+ * output ahead of them.
+ */
+@State(Scope.Benchmark)
+@Fork(jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TemurinGenCDXABenchmark {
+
+    private HttpServer server;
+    private String apiUrl;
+    private Path dir;
+    private TemurinChecksumProvider cache;
+    private String largeEvidence;
+
+    /**
+     * Starts the checksum API stand-in, points TemurinGenCDXA at it and caches the checksum.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = TemurinBenchmarkFixtures.startChecksumServer();
+        apiUrl = TemurinGenCDXA.getAdoptiumApiUrl();
+        TemurinGenCDXA.setAdoptiumApiUrl(TemurinBenchmarkFixtures.url(server));
+        dir = Files.createTempDirectory("cdxa-bench");
+        cache = TemurinChecksumCache.of(dir.resolve("checksums.txt"), TemurinGenCDXA.getChecksumProvider());
+        cache.verified("jdk-21.0.5+11", "linux", "x64", TemurinBenchmarkFixtures.EVIDENCE_SHA256);
+        StringBuilder evidence = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            evidence.append("Binary files jdk/lib/module").append(i).append(" and jdk-rebuilt/lib/module").append(i).append(" differ\n");
+        }
+        largeEvidence = evidence.append(TemurinBenchmarkFixtures.EVIDENCE).toString();
+    }
+
+    /**
+     * Stops the stand-in, restores the Adoptium API URL and removes the checksum cache.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        TemurinGenCDXA.setAdoptiumApiUrl(apiUrl);
+        server.stop(0);
+        TemurinBenchmarkFixtures.delete(dir);
+    }
+
+    private static Bom create() throws IOException {
+        TemurinGenCDXA.CdxaResult result = TemurinGenCDXA.createCdxa("Acme Inc", "VERIFIED_REPRODUCIBLE_BUILD",
+            "Acme confirms a verified reproducible build", null, TemurinBenchmarkFixtures.EVIDENCE, true);
+        if (result == null) {
+            throw new IOException("CDXA not created");
+        }
+        return result.getBom();
+    }
+
+    /**
+     * Creates the attestation.
+     * @return The CDXA.
+     */
+    @Benchmark
+    public Bom createCdxa() throws IOException {
+        return create();
+    }
+
+    /**
+     * Creates the attestation and serializes it to JSON.
+     * @return The CDXA JSON.
+     */
+    @Benchmark
+    public String createCdxaJson() throws IOException, GeneratorException {
+        return TemurinGenCDXA.generateBomJson(create());
+    }
+
+    /**
+     * Creates the attestation and serializes it to XML.
+     * @return The CDXA XML.
+     */
+    @Benchmark
+    public String createCdxaXml() throws IOException, GeneratorException {
+        return TemurinGenCDXA.generateBomXml(create());
+    }
+
+    /**
+     * Creates the attestation with the checksum from the cache.
+     * @return The CDXA.
+     */
+    @Benchmark
+    public Bom createCdxaCached() throws IOException {
+        TemurinGenCDXA.setChecksumProvider(cache);
+        try {
+            return create();
+        } finally {
+            TemurinGenCDXA.setChecksumProvider(null);
+        }
+    }
+
+    /**
+     * Extracts the fields of large evidence.
+     * @return The fields.
+     */
+    @Benchmark
+    public TemurinGenCDXA.EvidenceFields scanEvidenceLarge() {
+        return TemurinGenCDXA.scanEvidence(largeEvidence);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.cyclonedx.Version;
+import org.cyclonedx.exception.GeneratorException;
+import org.cyclonedx.model.Bom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * TemurinGenSBOM read, update and write costs.
+ *
+ * mutateCycle is what every sbom.sh helper costs: parse the JSON SBOM, index it, add one
+ * property and write it back. The other benchmarks measure the parts of that cycle, and
+ * JSON against XML serialization of the same in-memory SBOM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TemurinGenSBOMBenchmark {
+
+    @Param({TemurinBenchmarkFixtures.REALISTIC, TemurinBenchmarkFixtures.STRESS})
+    private String size;
+
+    private Path dir;
+    private String jsonFile;
+    private String xmlFile;
+    private String outFile;
+    private Bom bom;
+
+    /**
+     * Generates the SBOM and writes it as JSON and XML.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("sbom-bench");
+        jsonFile = dir.resolve("sbom.json").toString();
+        xmlFile = dir.resolve("sbom.xml").toString();
+        outFile = dir.resolve("out.json").toString();
+        bom = TemurinBenchmarkFixtures.sbom(size);
+        TemurinBenchmarkFixtures.write(bom, dir.resolve("sbom.json"), dir.resolve("sbom.xml"));
+    }
+
+    /**
+     * Removes the SBOM files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        TemurinBenchmarkFixtures.delete(dir);
+    }
+
+    /**
+     * Parses the JSON SBOM into the CycloneDX model.
+     * @return The SBOM.
+     */
+    @Benchmark
+    public Bom parseJson() {
+        return TemurinGenSBOM.readJSONfile(jsonFile);
+    }
+
+    /**
+     * Parses the XML SBOM into the CycloneDX model.
+     * @return The SBOM.
+     */
+    @Benchmark
+    public Bom parseXml() {
+        return TemurinGenSBOM.readXMLfile(xmlFile);
+    }
+
+    /**
+     * Indexes the SBOM by component, formula, workflow and step.
+     * @param blackhole Consumes the index.
+     */
+    @Benchmark
+    public void index(final Blackhole blackhole) {
+        blackhole.consume(TemurinSBOMIndex.of(bom));
+    }
+
+    /**
+     * One sbom.sh helper call, e.g. addSBOMComponentProperty, less the JVM start.
+     * @return The updated SBOM.
+     */
+    @Benchmark
+    public Bom mutateCycle() {
+        TemurinSBOMIndex index = TemurinSBOMIndex.of(TemurinGenSBOM.readJSONfile(jsonFile));
+        Bom updated = TemurinGenSBOM.addComponentProperty(index, "Component 1", "Benchmark", "value");
+        TemurinGenSBOM.writeJSONfile(updated, outFile);
+        return updated;
+    }
+
+    /**
+     * Serializes the SBOM to a JSON string.
+     * @return The SBOM JSON.
+     */
+    @Benchmark
+    public String generateJson() throws GeneratorException {
+        return TemurinGenSBOM.generateBomJson(bom);
+    }
+
+    /**
+     * Serializes the SBOM to an XML string.
+     * @return The SBOM XML.
+     */
+    @Benchmark
+    public String generateXml() throws GeneratorException {
+        return TemurinGenSBOM.generateBomXml(bom);
+    }
+
+    /**
+     * Streams the SBOM to a JSON file.
+     */
+    @Benchmark
+    public void writeJson() throws IOException {
+        TemurinBomWriter.writeJson(bom, Version.VERSION_16, outFile);
+    }
+
+    /**
+     * Streams the SBOM to an XML file.
+     */
+    @Benchmark
+    public void writeXml() throws IOException {
+        TemurinBomWriter.writeXml(bom, Version.VERSION_16, dir.resolve("out.xml").toString());
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cyclonedx.model.Bom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * TemurinSignSBOM signing and signature verification of an SBOM file, including reading
+ * the SBOM and the PEM key as the --signSBOM and --verifySignature commands do, signing
+ * into the CycloneDX model for callers that need the signed Bom, and
+ * --signSBOMs signing and --verifySignatures verification of a release's worth of SBOMs
+ * with one key, and --detached signing and verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TemurinSignSBOMBenchmark {
+
+    // The number of SBOMs of a release, one per platform
+    private static final int RELEASE_SBOMS = 16;
+
+    @Param({TemurinBenchmarkFixtures.REALISTIC, TemurinBenchmarkFixtures.STRESS})
+    private String size;
+
+    private Path dir;
+    private String jsonFile;
+    private String signedFile;
+    private String privatePem;
+    private String publicPem;
+    private List<String> signedFiles;
+
+    /**
+     * Generates the SBOM and an RSA key pair, and signs the SBOM once, embedded and
+     * detached, for verify.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, GeneralSecurityException {
+        dir = Files.createTempDirectory("sign-bench");
+        jsonFile = dir.resolve("sbom.json").toString();
+        signedFile = dir.resolve("signed.json").toString();
+        privatePem = dir.resolve("private.pem").toString();
+        publicPem = dir.resolve("public.pem").toString();
+        TemurinBenchmarkFixtures.write(TemurinBenchmarkFixtures.sbom(size), dir.resolve("sbom.json"), null);
+        TemurinBenchmarkFixtures.writeKeys(dir.resolve("private.pem"), dir.resolve("public.pem"));
+        if (!TemurinSignSBOM.signSBOMFile(jsonFile, signedFile, TemurinSignSBOM.readKeyPair(privatePem, false))) {
+            throw new IOException("Unable to sign " + jsonFile);
+        }
+        if (!TemurinSignSBOM.signDetached(signedFile, TemurinSignSBOM.readKeyPair(privatePem, false))) {
+            throw new IOException("Unable to sign " + signedFile + " detached");
+        }
+        signedFiles = new ArrayList<>();
+        for (int i = 0; i < RELEASE_SBOMS; i++) {
+            Path file = dir.resolve("signed_" + i + ".json");
+            Files.copy(dir.resolve("signed.json"), file);
+            signedFiles.add(file.toString());
+        }
+    }
+
+    /**
+     * The unsigned SBOMs of a release, recreated before each signSBOMs as it signs them in place.
+     */
+    @State(Scope.Thread)
+    public static class Release {
+        private final List<String> files = new ArrayList<>();
+
+        /**
+         * Copies the unsigned SBOM to each release SBOM.
+         * @param benchmark The benchmark state holding the unsigned SBOM.
+         */
+        @Setup(Level.Invocation)
+        public void unsign(final TemurinSignSBOMBenchmark benchmark) throws IOException {
+            files.clear();
+            for (int i = 0; i < RELEASE_SBOMS; i++) {
+                Path file = benchmark.dir.resolve("OpenJDK-sbom_" + i + ".json");
+                Files.copy(benchmark.dir.resolve("sbom.json"), file, StandardCopyOption.REPLACE_EXISTING);
+                files.add(file.toString());
+            }
+        }
+    }
+
+    /**
+     * Removes the SBOM and key files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        TemurinBenchmarkFixtures.delete(dir);
+    }
+
+    /**
+     * Signs the SBOM file with the private key into another file.
+     * @return Whether the SBOM was signed.
+     */
+    @Benchmark
+    public boolean sign() throws IOException, GeneralSecurityException {
+        return TemurinSignSBOM.signSBOMFile(jsonFile, dir.resolve("out.json").toString(), TemurinSignSBOM.readKeyPair(privatePem, false));
+    }
+
+    /**
+     * Signs the SBOM with the private key into the CycloneDX model.
+     * @return The signed SBOM.
+     */
+    @Benchmark
+    public Bom signToBom() {
+        return TemurinSignSBOM.signSBOM(jsonFile, privatePem, false);
+    }
+
+    /**
+     * Signs a release's worth of SBOMs in place with one key, on one thread per processor.
+     * @param release The unsigned release SBOMs.
+     * @return Whether all SBOMs were signed.
+     */
+    @Benchmark
+    public boolean signSBOMs(final Release release) {
+        return TemurinSignSBOM.signSBOMs(release.files, null, privatePem, false, Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    /**
+     * Verifies the signed SBOM with the public key.
+     * @return Whether the signature verified.
+     */
+    @Benchmark
+    public boolean verify() throws IOException {
+        if (!TemurinSignSBOM.verifySignature(signedFile, publicPem)) {
+            throw new IOException("Signature of " + signedFile + " not verified");
+        }
+        return true;
+    }
+
+    /**
+     * Verifies the signed SBOM as it is in the file with the public key.
+     * @return The verification result.
+     */
+    @Benchmark
+    public boolean verifyFile() throws IOException, GeneralSecurityException {
+        if (!TemurinSignSBOM.verifySignatureFile(signedFile, TemurinSignSBOM.readPublicKey(publicPem)).passed()) {
+            throw new IOException("Signature of " + signedFile + " not verified");
+        }
+        return true;
+    }
+
+    /**
+     * Verifies a release's worth of signed SBOMs with one key, on one thread per processor.
+     * @return Whether all signatures verified.
+     */
+    @Benchmark
+    public boolean verifySignatures() {
+        return TemurinSignSBOM.verifySignatures(signedFiles, null, publicPem, Runtime.getRuntime().availableProcessors(), null, false);
+    }
+
+    /**
+     * Signs the SBOM detached when its digest and signature already match: a hash check.
+     * @return Whether the SBOM is signed.
+     */
+    @Benchmark
+    public boolean signDetachedUnchanged() throws IOException, GeneralSecurityException {
+        return TemurinSignSBOM.signDetached(signedFile, TemurinSignSBOM.readKeyPair(privatePem, false));
+    }
+
+    /**
+     * Verifies the detached signature of the SBOM with the public key.
+     * @return The verification result.
+     */
+    @Benchmark
+    public boolean verifyDetached() throws IOException, GeneralSecurityException {
+        if (!TemurinSignSBOM.verifyDetached(signedFile, TemurinSignSBOM.readPublicKey(publicPem)).passed()) {
+            throw new IOException("Detached signature of " + signedFile + " not verified");
+        }
+        return true;
+    }
+}
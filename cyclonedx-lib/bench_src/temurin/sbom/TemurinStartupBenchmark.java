@@ -0,0 +1,123 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * One sbom.sh helper call as a build makes it, JVM start included: a new JVM running
+ * TemurinGenSBOM --addComponentProp on the realistic SBOM, i.e. mutateCycle of
+ * TemurinGenSBOMBenchmark plus JVM startup and class loading. cds=off starts with the
+ * JDK's default CDS archive only, cds=appcds also with the archive of the appCDS target,
+ * on the classpath it was trained with. runBenchmarks passes the archive and classpath
+ * as the temurin.sbom.cds.archive and temurin.sbom.cds.classpath system properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TemurinStartupBenchmark {
+
+    static final String ARCHIVE = "temurin.sbom.cds.archive";
+    static final String CLASSPATH = "temurin.sbom.cds.classpath";
+
+    @Param({"off", "appcds"})
+    private String cds;
+
+    private Path dir;
+    private Path sbom;
+    private Path jsonFile;
+    private File log;
+    private List<String> command;
+
+    /**
+     * Generates the SBOM and builds the command line.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String archive = System.getProperty(ARCHIVE);
+        String classpath = System.getProperty(CLASSPATH);
+        if (archive == null || classpath == null) {
+            throw new IllegalStateException("Set " + ARCHIVE + " and " + CLASSPATH + ", e.g. with ant runBenchmarks");
+        }
+        if (cds.equals("appcds") && !Files.isRegularFile(Paths.get(archive))) {
+            throw new IllegalStateException("No AppCDS archive " + archive + ", ant appCDS builds it with JDK 13 or later");
+        }
+        dir = Files.createTempDirectory("startup-bench");
+        sbom = dir.resolve("sbom.json");
+        jsonFile = dir.resolve("out.json");
+        log = dir.resolve("out.log").toFile();
+        TemurinBenchmarkFixtures.write(TemurinBenchmarkFixtures.sbom(TemurinBenchmarkFixtures.REALISTIC), sbom, null);
+        command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (cds.equals("appcds")) {
+            // Fails rather than quietly starting without the archive
+            command.add("-XX:SharedArchiveFile=" + archive);
+            command.add("-Xshare:on");
+        }
+        command.addAll(Arrays.asList("-cp", classpath, "temurin.sbom.TemurinGenSBOM", "--addComponentProp",
+                                     "--compName", "Component 1", "--name", "Benchmark", "--value", "value",
+                                     "--jsonFile", jsonFile.toString()));
+    }
+
+    /**
+     * Restores the SBOM, so every call updates the same one.
+     */
+    @Setup(Level.Iteration)
+    public void copySbom() throws IOException {
+        Files.copy(sbom, jsonFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Removes the SBOM files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        TemurinBenchmarkFixtures.delete(dir);
+    }
+
+    /**
+     * One TemurinGenSBOM JVM, from start to exit.
+     * @return The exit code, 0.
+     */
+    @Benchmark
+    public int addComponentProp() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("TemurinGenSBOM exited with " + exitCode + ", see " + log);
+        }
+        return exitCode;
+    }
+}
@@ -32,26 +32,65 @@ import org.webpki.json.JSONParser;
 import org.webpki.util.PEMDecoder;
 
 import java.util.stream.Collectors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.InputStreamReader;
-import java.io.StringReader;
 import java.io.IOException;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
+import java.security.MessageDigest;
 import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.cyclonedx.exception.ParseException;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Signs CycloneDX JSON SBOMs with an embedded JSF signature and verifies them.
+ *
+ * TemurinSignSBOM --signSBOM --jsonFile file (--privateKeyFile pem | --privateKeyFileSTDIN) [--detached]
+ * TemurinSignSBOM --signSBOMs (--sbomDir dir | --jsonFile file...) (--privateKeyFile pem | --privateKeyFileSTDIN)
+ *                 [--threads n] [--detached]
+ * TemurinSignSBOM --verifySignature --jsonFile file --publicKeyFile pem
+ * TemurinSignSBOM --verifySignatures (--sbomDir dir | --jsonFile file...) --publicKeyFile pem
+ *                 [--threads n] [--report file] [--detached]
+ *
+ * --signSBOMs signs all the given SBOMs, or the OpenJDK*-sbom*.json files of a directory
+ * except metadata files, in one JVM: the private key is decoded once and the SBOMs are
+ * signed concurrently on --threads threads (default: the number of processors). Each
+ * SBOM is reported as signed or failed, and the exit code is 1 if any failed.
+ *
+ * --verifySignatures verifies the signatures of the SBOMs as they are in the files, with
+ * no round trip through the CycloneDX model that could normalize a modification away,
+ * concurrently against one decoded public key. Each SBOM is reported as valid or invalid,
+ * --report writes the results as JSON and the exit code is 1 if any is invalid.
+ *
+ * With --detached the SBOM file is not rewritten. The SHA-256 digests of its canonical
+ * (RFC 8785) form and of the file are computed once and written to a file.digest sidecar,
+ * and a JSF signed file.sig holding them is written next to it. An SBOM whose digest and
+ * signature already match is not signed again. Verification compares the digest of the
+ * SBOM with the sidecar first, and only verifies the signature when they match.
+ */
 public final class TemurinSignSBOM {
 
     private static boolean verbose = false;
 
+    // The sidecar files of --detached signing, appended to the SBOM file name
+    private static final String SIGNATURE_SUFFIX = ".sig";
+    private static final String DIGEST_SUFFIX = ".digest";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
     // Create a logger for the class
     private static final Logger LOGGER = Logger.getLogger(TemurinSignSBOM.class.getName());
 
@@ -63,16 +102,40 @@ public final class TemurinSignSBOM {
      * @param args Arguments for sbom operation.
      */
     public static void main(final String[] args) {
+        // Set success to true only when the operation is completed successfully.
+        if (run(args)) {
+            System.out.println("Operation completed successfully.");
+        } else {
+            System.out.println("Operation failed.");
+            System.exit(1);
+        }
+    }
+
+    // Runs one operation, returning whether it succeeded rather than exiting, so that
+    // TemurinCDSTraining can run several in one JVM
+    static boolean run(final String[] args) {
         String cmd = "";
         String privateKeyFile = null;
         String publicKeyFile = null;
         String fileName = null;
+        List<String> fileNames = new ArrayList<>();
+        String sbomDir = null;
+        String reportFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
         boolean success = false; // add a new boolean success, default to false
+        boolean detached = false;
         boolean privateStdIn = false; // TRUE if private key contents are passed in STDIN with --privateKeyFileSTDIN
 
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("--jsonFile")) {
                 fileName = args[++i];
+                fileNames.add(fileName);
+            } else if (args[i].equals("--sbomDir")) {
+                sbomDir = args[++i];
+            } else if (args[i].equals("--report")) {
+                reportFile = args[++i];
+            } else if (args[i].equals("--threads")) {
+                threads = Integer.parseInt(args[++i]);
             } else if (args[i].equals("--privateKeyFile")) {
                 privateKeyFile = args[++i];
             } else if (args[i].equals("--privateKeyFileSTDIN")) {
@@ -84,76 +147,391 @@ public final class TemurinSignSBOM {
                 publicKeyFile = args[++i];
             } else if (args[i].equals("--signSBOM")) {
                 cmd = "signSBOM";
+            } else if (args[i].equals("--signSBOMs")) {
+                cmd = "signSBOMs";
             } else if (args[i].equals("--verifySignature")) {
                 cmd = "verifySignature";
+            } else if (args[i].equals("--verifySignatures")) {
+                cmd = "verifySignatures";
+            } else if (args[i].equals("--detached")) {
+                detached = true;
             } else if (args[i].equals("--verbose")) {
                 verbose = true;
             }
         }
 
+        TemurinMetrics.start("TemurinSignSBOM", cmd);
         if (cmd.equals("signSBOM")) {
-            Bom bom = signSBOM(fileName, privateKeyFile, privateStdIn);
-            if (bom != null) {
-                if (!writeJSONfile(bom, fileName)) {
-                    success = false;
-                }
-            } else {
-                success = false;
+            try {
+                KeyPair signingKey = readKeyPair(privateKeyFile, privateStdIn);
+                success = detached ? signDetached(fileName, signingKey) : signSBOMFile(fileName, fileName, signingKey);
+            } catch (IOException | GeneralSecurityException e) {
+                LOGGER.log(Level.SEVERE, "Error reading private key", e);
             }
-            success = true; // set success to true only if signSBOM and writeJSONfile succeed
+        } else if (cmd.equals("signSBOMs")) {
+            success = signSBOMs(fileNames, sbomDir, privateKeyFile, privateStdIn, threads, detached);
         } else if (cmd.equals("verifySignature")) {
             success = verifySignature(fileName, publicKeyFile); // set success to the result of verifySignature
             System.out.println("Signature verification result: " + (success ? "Valid" : "Invalid"));
+        } else if (cmd.equals("verifySignatures")) {
+            success = verifySignatures(fileNames, sbomDir, publicKeyFile, threads, reportFile, detached);
         } else {
             System.out.println("Please enter a command.");
         }
+        return success;
+    }
 
-        // Set success to true only when the operation is completed successfully.
-        if (success) {
-            System.out.println("Operation completed successfully.");
-        } else {
-            System.out.println("Operation failed.");
-            System.exit(1);
+    static Bom signSBOM(final String jsonFile, final String pemFile, final boolean privateStdIn) {
+        KeyPair signingKey;
+        try {
+            signingKey = readKeyPair(pemFile, privateStdIn);
+        } catch (IOException | GeneralSecurityException e) {
+            LOGGER.log(Level.SEVERE, "Error reading private key", e);
+            return null;
         }
+        return signSBOM(jsonFile, signingKey);
     }
 
-    static Bom signSBOM(final String jsonFile, final String pemFile, final boolean privateStdIn) {
+    // Decodes the private key, from the PEM file or, with --privateKeyFileSTDIN, the PEM read from STDIN
+    static KeyPair readKeyPair(final String pemFile, final boolean privateStdIn) throws IOException, GeneralSecurityException {
+        if (privateStdIn) {
+            // If private key is passed in STDIN
+            return PEMDecoder.getKeyPair(pemFile.getBytes());
+        }
+        // If private key is a file
+        return PEMDecoder.getKeyPair(Files.readAllBytes(Paths.get(pemFile)));
+    }
+
+    // Decodes the public key from the PEM file
+    static PublicKey readPublicKey(final String pemFile) throws IOException, GeneralSecurityException {
+        return PEMDecoder.getPublicKey(Files.readAllBytes(Paths.get(pemFile)));
+    }
+
+    // Signs the SBOM and parses the signed SBOM into the CycloneDX model, for callers that need the Bom
+    static Bom signSBOM(final String jsonFile, final KeyPair signingKey) {
         try {
-            // Read the JSON file to be signed
-            Bom bom = readJSONfile(jsonFile);
-            if (bom == null) {
-                return null;
+            byte[] signedData = signJson(Files.readAllBytes(Paths.get(jsonFile)), signingKey);
+            JsonParser parser = new JsonParser();
+            return parser.parse(signedData);
+        } catch (IOException | GeneralSecurityException | ParseException e) {
+            LOGGER.log(Level.SEVERE, "Error signing SBOM", e);
+            return null;
+        }
+    }
+
+    /**
+     * Signs the SBOM as it is in the file and writes the signed SBOM, without a round trip
+     * through the CycloneDX model: the file is parsed once, canonicalized once for the
+     * signature and serialized once.
+     * @param jsonFile The SBOM to sign.
+     * @param signedFile The file to (atomically) write the signed SBOM to, may be jsonFile.
+     * @param signingKey The key pair holding the private key.
+     * @return Whether the SBOM was signed and written.
+     */
+    static boolean signSBOMFile(final String jsonFile, final String signedFile, final KeyPair signingKey) {
+        try {
+            byte[] signedData = signJson(Files.readAllBytes(Paths.get(jsonFile)), signingKey);
+            TemurinBomWriter.writeStream(Paths.get(signedFile), out -> out.write(signedData));
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            LOGGER.log(Level.SEVERE, "Error signing SBOM " + jsonFile, e);
+            return false;
+        }
+    }
+
+    // The SBOM with an embedded JSF signature over its canonical form, pretty printed
+    static byte[] signJson(final byte[] sbom, final KeyPair signingKey) throws IOException, GeneralSecurityException {
+        TemurinMetrics.Phase sign = TemurinMetrics.phase("sign");
+        try {
+            JSONObjectReader reader = JSONParser.parse(sbom);
+            if (!reader.hasProperty("bomFormat")) {
+                throw new IOException("Not a CycloneDX SBOM, bomFormat is missing");
             }
-            String sbomDataToSign;
-            try {
-                sbomDataToSign = generateBomJson(bom);
-            } catch (GeneratorException e) {
-                LOGGER.log(Level.SEVERE, "Exception generating BOM", e);
-                return null;
+            byte[] signed = new JSONObjectWriter(reader)
+                    .setSignature(new JSONAsymKeySigner(signingKey.getPrivate()))
+                    .serializeToBytes(JSONOutputFormats.PRETTY_PRINT);
+            TemurinMetrics.count("sbomsSigned", 1);
+            return signed;
+        } finally {
+            sign.end();
+        }
+    }
+
+    /**
+     * Signs SBOMs concurrently with one private key, rewriting each SBOM with its signature
+     * or writing a detached signature next to it.
+     * @param jsonFiles The SBOMs given with --jsonFile.
+     * @param sbomDir A directory of SBOMs, or null.
+     * @param pemFile The private key PEM file, or the PEM itself with privateStdIn.
+     * @param privateStdIn Whether pemFile holds the PEM read from STDIN.
+     * @param threads The maximum number of SBOMs signed at once.
+     * @param detached Whether to write detached signatures instead of rewriting the SBOMs.
+     * @return Whether all SBOMs were signed.
+     */
+    static boolean signSBOMs(final List<String> jsonFiles, final String sbomDir, final String pemFile,
+                             final boolean privateStdIn, final int threads, final boolean detached) {
+        List<String> files = new ArrayList<>(jsonFiles);
+        KeyPair signingKey;
+        try {
+            if (sbomDir != null) {
+                for (Path file : TemurinReleaseSBOMs.list(Paths.get(sbomDir))) {
+                    files.add(file.toString());
+                }
             }
+            signingKey = readKeyPair(pemFile, privateStdIn);
+        } catch (IOException | GeneralSecurityException e) {
+            LOGGER.log(Level.SEVERE, "Error reading SBOMs or private key", e);
+            return false;
+        }
+        if (files.isEmpty() || threads < 1) {
+            System.out.println("ERROR: No SBOMs to sign, use --jsonFile or --sbomDir and --threads of at least 1");
+            return false;
+        }
 
-            // Read the private key
-            KeyPair signingKey = null;
-            if (privateStdIn) {
-                // If private key is passed in STDIN
-                signingKey = PEMDecoder.getKeyPair(pemFile.getBytes());
+        List<Boolean> results;
+        try {
+            results = TemurinParallel.map(files, threads, "processing SBOMs", file -> detached ? signDetached(file, signingKey) : signSBOMFile(file, file, signingKey));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error signing SBOMs", e);
+            return false;
+        }
+
+        int signed = 0;
+        for (int i = 0; i < files.size(); i++) {
+            if (results.get(i)) {
+                System.out.println("Signed " + files.get(i));
+                signed++;
             } else {
-                // If private key is a file
-                signingKey = PEMDecoder.getKeyPair(Files.readAllBytes(Paths.get(pemFile)));
+                System.out.println("ERROR: Failed to sign " + files.get(i));
             }
+        }
+        System.out.println("Signed " + signed + " of " + files.size() + " SBOMs.");
+        return signed == files.size();
+    }
 
-            // Sign the JSON data
-            String signedData = new JSONObjectWriter(JSONParser.parse(sbomDataToSign))
-                    .setSignature(new JSONAsymKeySigner(signingKey.getPrivate()))
-                    .serializeToString(JSONOutputFormats.PRETTY_PRINT);
+    /**
+     * Verifies the embedded or detached signatures of SBOMs concurrently with one public key.
+     * @param jsonFiles The SBOMs given with --jsonFile.
+     * @param sbomDir A directory of SBOMs, or null.
+     * @param publicKeyFile The public key PEM file.
+     * @param threads The maximum number of SBOMs verified at once.
+     * @param reportFile The file to write the results to as JSON, or null.
+     * @param detached Whether to verify the detached signatures written by --detached signing.
+     * @return Whether all signatures are valid.
+     */
+    static boolean verifySignatures(final List<String> jsonFiles, final String sbomDir, final String publicKeyFile,
+                                    final int threads, final String reportFile, final boolean detached) {
+        List<String> files = new ArrayList<>(jsonFiles);
+        PublicKey publicKey;
+        try {
+            if (sbomDir != null) {
+                for (Path file : TemurinReleaseSBOMs.list(Paths.get(sbomDir))) {
+                    files.add(file.toString());
+                }
+            }
+            publicKey = readPublicKey(publicKeyFile);
+        } catch (IOException | GeneralSecurityException e) {
+            LOGGER.log(Level.SEVERE, "Error reading SBOMs or public key", e);
+            return false;
+        }
+        if (files.isEmpty() || threads < 1) {
+            System.out.println("ERROR: No SBOMs to verify, use --jsonFile or --sbomDir and --threads of at least 1");
+            return false;
+        }
 
-            JsonParser parser = new JsonParser();
-            Bom signedBom = parser.parse(new StringReader(signedData));
-            return signedBom;
-        } catch (IOException | GeneralSecurityException | ParseException e) {
-            LOGGER.log(Level.SEVERE, "Error signing SBOM", e);
+        List<Verification> results;
+        try {
+            results = TemurinParallel.map(files, threads, "processing SBOMs", file -> detached ? verifyDetached(file, publicKey) : verifySignatureFile(file, publicKey));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error verifying SBOMs", e);
+            return false;
+        }
+        int valid = 0;
+        for (Verification result : results) {
+            System.out.println(result);
+            if (result.passed()) {
+                valid++;
+            }
+        }
+        System.out.println("Verified " + results.size() + " SBOMs: " + valid + " valid, " + (results.size() - valid) + " invalid.");
+        if (reportFile != null) {
+            try {
+                new ObjectMapper().writer(SerializationFeature.INDENT_OUTPUT).writeValue(new File(reportFile), TemurinReleaseSBOMs.report(results, "valid", "invalid"));
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Error writing report " + reportFile, e);
+                return false;
+            }
+        }
+        return valid == results.size();
+    }
+
+    /**
+     * Verifies the embedded JSF signature of the SBOM as it is in the file.
+     * @param jsonFile The signed SBOM.
+     * @param publicKey The public key the SBOM must be signed with.
+     * @return The result; an unreadable or unsigned SBOM is invalid.
+     */
+    static Verification verifySignatureFile(final String jsonFile, final PublicKey publicKey) {
+        TemurinMetrics.count("sbomsVerified", 1);
+        TemurinMetrics.Phase verify = TemurinMetrics.phase("verify");
+        try {
+            JSONObjectReader reader = JSONParser.parse(Files.readAllBytes(Paths.get(jsonFile)));
+            reader.getSignature(new JSONCryptoHelper.Options()).verify(new JSONAsymKeyVerifier(publicKey));
+            return new Verification(jsonFile, null);
+        } catch (IOException | GeneralSecurityException e) {
+            return new Verification(jsonFile, e.getMessage() != null ? e.getMessage() : e.toString());
+        } finally {
+            verify.end();
+        }
+    }
+
+    /**
+     * Signs the SBOM without rewriting it. The SHA-256 digests of its canonical form and of
+     * the file are cached in the file.digest sidecar and signed in file.sig. Nothing is
+     * written if the file still matches both, so signing an unchanged SBOM is a hash check.
+     * @param jsonFile The SBOM to sign.
+     * @param signingKey The key pair holding the private key.
+     * @return Whether the SBOM is signed.
+     */
+    static boolean signDetached(final String jsonFile, final KeyPair signingKey) {
+        try {
+            byte[] sbom = Files.readAllBytes(Paths.get(jsonFile));
+            byte[] signature;
+            byte[] digests;
+            TemurinMetrics.Phase sign = TemurinMetrics.phase("sign");
+            try {
+                String fileDigest = digest(sbom);
+                JSONObjectReader cached = readDigest(jsonFile);
+                if (cached != null && fileDigest.equals(cached.getString("file"))
+                    && verifyDetachedSignature(jsonFile, "fileDigest", fileDigest, signingKey.getPublic()) == null) {
+                    TemurinMetrics.count("sbomsUnchanged", 1);
+                    return true;
+                }
+                String canonicalDigest = digest(JSONParser.parse(sbom).serializeToBytes(JSONOutputFormats.CANONICALIZED));
+                signature = new JSONObjectWriter()
+                        .setString("file", Paths.get(jsonFile).getFileName().toString())
+                        .setString("algorithm", DIGEST_ALGORITHM)
+                        .setString("digest", canonicalDigest)
+                        .setString("fileDigest", fileDigest)
+                        .setSignature(new JSONAsymKeySigner(signingKey.getPrivate()))
+                        .serializeToBytes(JSONOutputFormats.PRETTY_PRINT);
+                digests = new JSONObjectWriter()
+                        .setString("algorithm", DIGEST_ALGORITHM)
+                        .setString("canonical", canonicalDigest)
+                        .setString("file", fileDigest)
+                        .serializeToBytes(JSONOutputFormats.PRETTY_PRINT);
+                TemurinMetrics.count("sbomsSigned", 1);
+            } finally {
+                sign.end();
+            }
+            TemurinBomWriter.writeStream(Paths.get(jsonFile + SIGNATURE_SUFFIX), out -> out.write(signature));
+            TemurinBomWriter.writeStream(Paths.get(jsonFile + DIGEST_SUFFIX), out -> out.write(digests));
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            LOGGER.log(Level.SEVERE, "Error signing SBOM " + jsonFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * Verifies the detached signature of the SBOM. The digest of the SBOM is compared with
+     * the file.digest sidecar first, and the signature is only verified if they match. An
+     * unchanged file is checked by its SHA-256 alone; only a file that differs, e.g. is
+     * formatted differently, is canonicalized to compare the digests of its content.
+     * @param jsonFile The SBOM, signed with signDetached.
+     * @param publicKey The public key the SBOM must be signed with.
+     * @return The result; an SBOM without sidecar or signature is invalid.
+     */
+    static Verification verifyDetached(final String jsonFile, final PublicKey publicKey) {
+        TemurinMetrics.count("sbomsVerified", 1);
+        TemurinMetrics.Phase verify = TemurinMetrics.phase("verify");
+        try {
+            byte[] sbom = Files.readAllBytes(Paths.get(jsonFile));
+            JSONObjectReader cached = readDigest(jsonFile);
+            if (cached == null || !DIGEST_ALGORITHM.equals(cached.getString("algorithm"))) {
+                return new Verification(jsonFile, "No " + DIGEST_ALGORITHM + " digest " + jsonFile + DIGEST_SUFFIX);
+            }
+            String fileDigest = digest(sbom);
+            if (fileDigest.equals(cached.getString("file"))) {
+                return new Verification(jsonFile, verifyDetachedSignature(jsonFile, "fileDigest", fileDigest, publicKey));
+            }
+            String canonicalDigest = digest(JSONParser.parse(sbom).serializeToBytes(JSONOutputFormats.CANONICALIZED));
+            if (!canonicalDigest.equals(cached.getString("canonical"))) {
+                return new Verification(jsonFile, "SBOM does not match its digest " + jsonFile + DIGEST_SUFFIX);
+            }
+            return new Verification(jsonFile, verifyDetachedSignature(jsonFile, "digest", canonicalDigest, publicKey));
+        } catch (IOException | GeneralSecurityException e) {
+            return new Verification(jsonFile, e.getMessage() != null ? e.getMessage() : e.toString());
+        } finally {
+            verify.end();
+        }
+    }
+
+    // Verifies file.sig against the public key and the signed digest, returning null if valid or else why not
+    private static String verifyDetachedSignature(final String jsonFile, final String property, final String digest,
+                                                  final PublicKey publicKey) throws IOException, GeneralSecurityException {
+        Path signatureFile = Paths.get(jsonFile + SIGNATURE_SUFFIX);
+        if (!Files.exists(signatureFile)) {
+            return "No signature " + signatureFile;
+        }
+        JSONObjectReader signature = JSONParser.parse(Files.readAllBytes(signatureFile));
+        signature.getSignature(new JSONCryptoHelper.Options()).verify(new JSONAsymKeyVerifier(publicKey));
+        if (!DIGEST_ALGORITHM.equals(signature.getString("algorithm")) || !digest.equals(signature.getString(property))) {
+            return "SBOM does not match the digest signed in " + signatureFile;
+        }
+        return null;
+    }
+
+    // The digests cached in file.digest, or null if there are none
+    private static JSONObjectReader readDigest(final String jsonFile) throws IOException {
+        Path digestFile = Paths.get(jsonFile + DIGEST_SUFFIX);
+        if (!Files.exists(digestFile)) {
             return null;
         }
+        return JSONParser.parse(Files.readAllBytes(digestFile));
+    }
+
+    // The hex SHA-256 digest of the bytes
+    private static String digest(final byte[] bytes) throws GeneralSecurityException {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance(DIGEST_ALGORITHM).digest(bytes)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Signature verification outcome of one SBOM.
+     */
+    static final class Verification implements TemurinReleaseSBOMs.Outcome {
+        private final String fileName;
+        private final String error;
+
+        Verification(final String fileNameParam, final String errorParam) {
+            this.fileName = fileNameParam;
+            this.error = errorParam;
+        }
+
+        @Override
+        public boolean passed() {
+            return error == null;
+        }
+
+        @Override
+        public Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("file", fileName);
+            json.put("result", passed() ? "VALID" : "INVALID");
+            if (error != null) {
+                json.put("error", error);
+            }
+            return json;
+        }
+
+        @Override
+        public String toString() {
+            return passed() ? fileName + ": Valid" : "ERROR: " + fileName + ": Invalid: " + error;
+        }
     }
 
     static String generateBomJson(final Bom bom) throws GeneratorException {
@@ -163,17 +541,9 @@ public final class TemurinSignSBOM {
     }
 
     static boolean writeJSONfile(final Bom bom, final String fileName) {
-        // Creates testJson.json file
-        String json;
+        // Streams the BOM to a temporary file and renames it over fileName
         try {
-            json = generateBomJson(bom);
-        } catch (GeneratorException e) {
-            LOGGER.log(Level.SEVERE, "Exception generating BOM", e);
-            return false;
-        }
-
-        try (FileWriter file = new FileWriter(fileName)) {
-            file.write(json);
+            TemurinBomWriter.writeJson(bom, Version.VERSION_16, fileName);
             return true;
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Error writing JSON file " + fileName, e);
@@ -207,7 +577,7 @@ public final class TemurinSignSBOM {
             JSONObjectReader reader = JSONParser.parse(signedSbomData);
 
             // Load public key from file
-            PublicKey publicKey = PEMDecoder.getPublicKey(Files.readAllBytes(Paths.get(publicKeyFile)));
+            PublicKey publicKey = readPublicKey(publicKeyFile);
 
             // Verify signature using the loaded public key
             JSONSignatureDecoder signature = reader.getSignature(new JSONCryptoHelper.Options());
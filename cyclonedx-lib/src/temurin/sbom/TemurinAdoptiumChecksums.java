@@ -0,0 +1,75 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Checksum provider querying the Adoptium API.
+ * API URL format: {baseUrl}/v3/checksum/version/{version}/{os}/{arch}/jdk/hotspot/normal/eclipse
+ */
+final class TemurinAdoptiumChecksums implements TemurinChecksumProvider {
+
+    private static final int TIMEOUT_MILLIS = 10000;
+
+    private final String baseUrl;
+
+    TemurinAdoptiumChecksums(final String baseUrlParam) {
+        this.baseUrl = baseUrlParam;
+    }
+
+    String url(final String version, final String os, final String arch) {
+        return String.format("%s/v3/checksum/version/%s/%s/%s/jdk/hotspot/normal/eclipse", baseUrl, version, os, arch);
+    }
+
+    @Override
+    public String checksum(final String version, final String os, final String arch) throws IOException {
+        String apiUrl = url(version, os, arch);
+        HttpURLConnection conn = (HttpURLConnection) new URL(apiUrl).openConnection();
+        try {
+            conn.setRequestMethod("GET");
+            conn.setRequestProperty("User-Agent", "TemurinGenCDXA/1.0");
+            conn.setConnectTimeout(TIMEOUT_MILLIS);
+            conn.setReadTimeout(TIMEOUT_MILLIS);
+
+            int responseCode = conn.getResponseCode();
+            if (responseCode != 200) {
+                throw new IOException("Adoptium API returned status code " + responseCode + " for URL: " + apiUrl);
+            }
+            StringBuilder response = new StringBuilder();
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+                String inputLine;
+                while ((inputLine = in.readLine()) != null) {
+                    response.append(inputLine);
+                }
+            }
+            // Response format is: "hash  filename"
+            return TemurinChecksumProvider.parse(response.toString());
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Adoptium API " + baseUrl;
+    }
+}
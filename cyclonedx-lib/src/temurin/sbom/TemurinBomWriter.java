@@ -0,0 +1,244 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.dataformat.xml.util.DefaultXmlPrettyPrinter;
+import org.cyclonedx.Version;
+import org.cyclonedx.generators.json.BomJsonGenerator;
+import org.cyclonedx.generators.xml.BomXmlGenerator;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.BomReference;
+import org.cyclonedx.util.mixin.MixInBomReference;
+import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Writes BOMs to disk without building the whole document as a String.
+ *
+ * The JSON/XML is streamed through a buffered UTF-8 writer into a temporary file in the
+ * target directory, which is then renamed over the target, so an interrupted write never
+ * leaves a truncated BOM behind. The output is identical to BomJsonGenerator.toJsonString()
+ * and BomXmlGenerator.toXmlString().
+ */
+final class TemurinBomWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private TemurinBomWriter() {
+    }
+
+    /**
+     * Streams the BOM as pretty printed JSON to the given file.
+     * @param bom The BOM to write.
+     * @param version The CycloneDX schema version.
+     * @param fileName The file to (atomically) replace.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeJson(final Bom bom, final Version version, final String fileName) throws IOException {
+        StreamingJsonGenerator generator = new StreamingJsonGenerator(bom, version);
+        writeAtomically(Paths.get(fileName), generator::writeTo);
+    }
+
+    /**
+     * Streams the BOM as pretty printed XML to the given file.
+     * @param bom The BOM to write.
+     * @param version The CycloneDX schema version.
+     * @param fileName The file to (atomically) replace.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeXml(final Bom bom, final Version version, final String fileName) throws IOException {
+        StreamingXmlGenerator generator = new StreamingXmlGenerator(bom, version);
+        writeAtomically(Paths.get(fileName), generator::writeTo);
+    }
+
+    /**
+     * Streams the same BOM as pretty printed JSON and XML to two files concurrently.
+     * Both generators are created, and so inject their format specific fields into the
+     * BOM, before either starts writing; after that the BOM is only read.
+     * @param bom The BOM to write.
+     * @param version The CycloneDX schema version.
+     * @param jsonFileName The JSON file to (atomically) replace.
+     * @param xmlFileName The XML file to (atomically) replace.
+     * @throws IOException If either file cannot be written.
+     */
+    static void writeJsonAndXml(final Bom bom, final Version version, final String jsonFileName, final String xmlFileName) throws IOException {
+        StreamingJsonGenerator jsonGenerator = new StreamingJsonGenerator(bom, version);
+        StreamingXmlGenerator xmlGenerator = new StreamingXmlGenerator(bom, version);
+        FutureTask<Void> xmlTask = new FutureTask<>(() -> {
+            writeAtomically(Paths.get(xmlFileName), xmlGenerator::writeTo);
+            return null;
+        });
+        Thread xmlWriter = new Thread(xmlTask, "TemurinBomWriter-xml");
+        xmlWriter.start();
+        try {
+            writeAtomically(Paths.get(jsonFileName), jsonGenerator::writeTo);
+        } finally {
+            // Let the XML writer finish, and clean up its temp file, even when the JSON write failed
+            joinUninterruptibly(xmlWriter);
+        }
+        try {
+            xmlTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted writing " + xmlFileName, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed writing " + xmlFileName, e.getCause());
+        }
+    }
+
+    private static void joinUninterruptibly(final Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Streams binary content to the given file through a temporary file, like the BOM writers.
+     * @param target The file to (atomically) replace.
+     * @param content Writes the file content.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeStream(final Path target, final StreamContent content) throws IOException {
+        replaceAtomically(target, channel -> {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            content.writeTo(out);
+            out.flush();
+        });
+    }
+
+    interface StreamContent {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private interface Content {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    private interface ChannelContent {
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
+    private static void writeAtomically(final Path target, final Content content) throws IOException {
+        replaceAtomically(target, channel -> {
+            Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+            content.writeTo(out);
+            out.flush();
+        });
+    }
+
+    private static void replaceAtomically(final Path target, final ChannelContent content) throws IOException {
+        Path temp = createTempFor(target);
+        TemurinMetrics.Phase write = TemurinMetrics.phase("write");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+                content.writeTo(channel);
+                channel.force(false);
+                TemurinMetrics.count("bytesWritten", channel.size());
+            }
+            move(temp, target);
+        } finally {
+            write.end();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Sibling of the target so the rename stays on one file system; created with default permissions on open
+    private static Path createTempFor(final Path target) {
+        return target.toAbsolutePath().resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    }
+
+    private static void move(final Path temp, final Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the BOM with the configured mapper of writeJson, in another format of the JSON
+     * data model such as Smile, so it holds the same tokens as the JSON file.
+     * @param bom The BOM.
+     * @param version The CycloneDX version.
+     * @param factory The factory of the format.
+     * @param out Where the BOM is written to, left open.
+     * @throws IOException If the BOM cannot be written.
+     */
+    static void writeTokens(final Bom bom, final Version version, final JsonFactory factory, final OutputStream out) throws IOException {
+        new StreamingJsonGenerator(bom, version).writeTo(factory, out);
+    }
+
+    // Reuses the generator's configured mapper, writing to a Writer or another format instead of a String
+    private static final class StreamingJsonGenerator extends BomJsonGenerator {
+        StreamingJsonGenerator(final Bom bomParam, final Version versionParam) {
+            super(bomParam, versionParam);
+        }
+
+        void writeTo(final JsonFactory factory, final OutputStream out) throws IOException {
+            mapper.addMixIn(BomReference.class, MixInBomReference.class);
+            mapper.copyWith(factory).writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, bom);
+        }
+
+        void writeTo(final Writer out) throws IOException {
+            mapper.addMixIn(BomReference.class, MixInBomReference.class);
+            DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter();
+            prettyPrinter.indentArraysWith(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
+            mapper.writer(prettyPrinter).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, bom);
+        }
+    }
+
+    private static final class StreamingXmlGenerator extends BomXmlGenerator {
+        StreamingXmlGenerator(final Bom bomParam, final Version versionParam) {
+            super(bomParam, versionParam);
+        }
+
+        void writeTo(final Writer out) throws IOException {
+            out.write(PROLOG);
+            out.write(System.lineSeparator());
+            mapper.writer(new DefaultXmlPrettyPrinter()).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, bom);
+        }
+    }
+}
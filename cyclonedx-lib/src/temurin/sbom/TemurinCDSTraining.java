@@ -0,0 +1,183 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+
+/**
+ * Training run for the AppCDS archive of the cyclonedx-lib tools, see the appCDS target
+ * of build.xml. Runs the commands sbom.sh runs during a build, in one JVM, so a JVM
+ * started with -XX:ArchiveClassesAtExit archives the classes they load: TemurinGenSBOM
+ * building a JSON and an XML SBOM, TemurinGenCDXA creating JSON and XML CDXAs from a
+ * local checksum mirror and, when it is on the classpath, TemurinSignSBOM signing and
+ * verifying embedded and detached signatures with a generated key. The tools are run
+ * through their internal entry points, which fail with an exception rather than exiting.
+ * Nothing leaves the work directory and no network is used.
+ */
+public final class TemurinCDSTraining {
+
+    private static final String VERSION = "jdk-21.0.5+11";
+    private static final String SHA256 = "3c654d98404c073b8a7e66bffb27f4ae3e7ede47d13284c132d40a83144bfd8c";
+    // --sbomDir only picks up SBOMs named like the release ones
+    private static final String RELEASE_SBOM = "OpenJDK21U-sbom_x64_linux_hotspot_21.0.5_11.json";
+
+    private TemurinCDSTraining() {
+    }
+
+    /**
+     * Main entry.
+     * @param args The work directory.
+     * @throws Exception If a training step fails.
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length != 1) {
+            System.out.println("Usage: TemurinCDSTraining <work directory>");
+            System.exit(1);
+        }
+        Path dir = Paths.get(args[0]);
+        Files.createDirectories(dir);
+        Path jsonFile = trainGenSBOM(dir);
+        trainGenCDXA(dir);
+        trainSignSBOM(dir, jsonFile);
+        System.out.println("Training run completed in " + dir);
+    }
+
+    // Builds an SBOM with the commands of sbom.sh, as JSON and as XML
+    private static Path trainGenSBOM(final Path dir) throws Exception {
+        String jsonFile = dir.resolve("sbom.json").toString();
+        String xmlFile = dir.resolve("sbom.xml").toString();
+        for (String sbomFile : new String[] {"--jsonFile", "--xmlFile"}) {
+            String file = sbomFile.equals("--jsonFile") ? jsonFile : xmlFile;
+            genSBOM(sbomFile, file, "--createNewSBOM");
+            genSBOM(sbomFile, file, "--addMetadata");
+            genSBOM(sbomFile, file, "--addMetadataComponent", "--name", "Eclipse Temurin", "--type", "framework",
+                    "--version", VERSION, "--description", "Eclipse Temurin JDK");
+            genSBOM(sbomFile, file, "--addMetadataProp", "--name", "OS version", "--value", "Linux");
+            genSBOM(sbomFile, file, "--addMetadataTools", "--tool", "ALSA", "--version", "1.1.6");
+            genSBOM(sbomFile, file, "--addFormulation", "--formulaName", "CycloneDX");
+            genSBOM(sbomFile, file, "--addFormulationComp", "--formulaName", "CycloneDX", "--name", "CycloneDX jar SHAs");
+            genSBOM(sbomFile, file, "--addFormulationCompProp", "--formulaName", "CycloneDX", "--compName", "CycloneDX jar SHAs",
+                    "--name", "cyclonedx-core-java.jar", "--value", SHA256);
+            genSBOM(sbomFile, file, "--addWorkflow", "--formulaName", "CycloneDX", "--workflowRef", "build",
+                    "--workflowUid", "1", "--workflowName", "Build", "--taskTypes", "build");
+            genSBOM(sbomFile, file, "--addWorkflowStep", "--formulaName", "CycloneDX", "--workflowRef", "build",
+                    "--workflowStepName", "configure", "--description", "Configure the JDK build");
+            genSBOM(sbomFile, file, "--addWorkflowStepCmd", "--formulaName", "CycloneDX", "--workflowRef", "build",
+                    "--workflowStepName", "configure", "--executed", "bash ./configure");
+            genSBOM(sbomFile, file, "--addComponent", "--compName", "JDK", "--version", VERSION, "--description", "JDK");
+            genSBOM(sbomFile, file, "--addComponentHash", "--compName", "JDK", "--hash", SHA256);
+            genSBOM(sbomFile, file, "--addComponentProp", "--compName", "JDK", "--name", "arch", "--value", "x64");
+        }
+        return Paths.get(jsonFile);
+    }
+
+    private static void genSBOM(final String sbomFile, final String file, final String... command) throws Exception {
+        String[] args = new String[command.length + 2];
+        System.arraycopy(command, 0, args, 0, command.length);
+        args[command.length] = sbomFile;
+        args[command.length + 1] = file;
+        TemurinGenSBOM.run(args);
+    }
+
+    // Creates a CDXA from evidence, as JSON and as XML, taking the checksum from a local mirror
+    private static void trainGenCDXA(final Path dir) throws IOException {
+        Path evidence = dir.resolve("reproducible_evidence.log");
+        Files.write(evidence, ("ReproduciblePercent = 100 %\n"
+            + "Eclipse Temurin version: " + VERSION + "\n"
+            + "                   arch: x64\n"
+            + "                     os: linux\n"
+            + "                 sha256: " + SHA256 + "\n").getBytes(StandardCharsets.UTF_8));
+        Path mirror = dir.resolve("mirror");
+        Files.createDirectories(mirror);
+        String archive = TemurinChecksumProvider.archiveName(VERSION, "linux", "x64");
+        Files.write(mirror.resolve(archive + ".sha256.txt"), (SHA256 + "  " + archive + "\n").getBytes(StandardCharsets.UTF_8));
+        TemurinGenCDXA.setChecksumProvider(TemurinGenCDXA.createChecksumProvider(mirror.toString(), null));
+        for (boolean json : new boolean[] {true, false}) {
+            TemurinGenCDXA.setUseJson(json);
+            if (!TemurinGenCDXA.createCdxas(Collections.singletonList(evidence), dir.toString(), 1, "Eclipse Temurin",
+                                            "VERIFIED_REPRODUCIBLE_BUILD", "Training run of the AppCDS archive", null, true)) {
+                throw new IllegalStateException("TemurinGenCDXA failed to create the " + (json ? "JSON" : "XML") + " CDXA");
+            }
+        }
+    }
+
+    // Signs and verifies copies of the SBOM, embedded and detached, if TemurinSignSBOM is on the classpath
+    private static void trainSignSBOM(final Path dir, final Path jsonFile) throws Exception {
+        Method signSBOM;
+        try {
+            signSBOM = Class.forName("temurin.sbom.TemurinSignSBOM").getDeclaredMethod("run", String[].class);
+        } catch (ClassNotFoundException | NoClassDefFoundError | NoSuchMethodException e) {
+            // A temurin-sign-sbom.jar built before TemurinSignSBOM.run is skipped too
+            System.out.println("TemurinSignSBOM is not on the classpath, signing is not trained");
+            return;
+        }
+        KeyPair keyPair = generateKeyPair();
+        Path privateKeyFile = dir.resolve("private.pem");
+        Path publicKeyFile = dir.resolve("public.pem");
+        writePem(privateKeyFile, "PRIVATE KEY", keyPair.getPrivate().getEncoded());
+        writePem(publicKeyFile, "PUBLIC KEY", keyPair.getPublic().getEncoded());
+        Path embeddedDir = dir.resolve("signed");
+        Path detachedDir = dir.resolve("detached");
+        for (Path sbomDir : new Path[] {embeddedDir, detachedDir}) {
+            Files.createDirectories(sbomDir);
+            Files.copy(jsonFile, sbomDir.resolve(RELEASE_SBOM), StandardCopyOption.REPLACE_EXISTING);
+        }
+        signSBOM(signSBOM, "--signSBOM", "--jsonFile", embeddedDir.resolve(RELEASE_SBOM).toString(),
+                 "--privateKeyFile", privateKeyFile.toString());
+        signSBOM(signSBOM, "--verifySignatures", "--sbomDir", embeddedDir.toString(), "--publicKeyFile", publicKeyFile.toString());
+        signSBOM(signSBOM, "--signSBOMs", "--detached", "--sbomDir", detachedDir.toString(),
+                 "--privateKeyFile", privateKeyFile.toString());
+        signSBOM(signSBOM, "--verifySignatures", "--detached", "--sbomDir", detachedDir.toString(),
+                 "--publicKeyFile", publicKeyFile.toString());
+    }
+
+    private static void signSBOM(final Method run, final String... args) throws Exception {
+        Object success;
+        try {
+            success = run.invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+        if (!Boolean.TRUE.equals(success)) {
+            throw new IllegalStateException("TemurinSignSBOM " + args[0] + " failed");
+        }
+    }
+
+    private static KeyPair generateKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static void writePem(final Path file, final String type, final byte[] encoded) throws IOException {
+        String pem = "-----BEGIN " + type + "-----\n"
+            + Base64.getMimeEncoder(64, new byte[] {'\n'}).encodeToString(encoded)
+            + "\n-----END " + type + "-----\n";
+        Files.write(file, pem.getBytes(StandardCharsets.UTF_8));
+    }
+}
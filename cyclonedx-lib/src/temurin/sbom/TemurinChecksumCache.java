@@ -0,0 +1,110 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checksum provider answering from a persistent local cache of verified checksums, and
+ * asking another provider for the ones it does not hold.
+ *
+ * The cache file has one "version os arch sha256" line per release. A checksum is only
+ * added once evidence has matched it, and as published checksums never change, cached
+ * entries do not expire. Attesting a release again needs no network at all.
+ */
+final class TemurinChecksumCache implements TemurinChecksumProvider {
+
+    private final Path cacheFile;
+    private final TemurinChecksumProvider delegate;
+    private final Map<String, String> checksums;
+
+    private TemurinChecksumCache(final Path cacheFileParam, final TemurinChecksumProvider delegateParam,
+                                 final Map<String, String> checksumsParam) {
+        this.cacheFile = cacheFileParam;
+        this.delegate = delegateParam;
+        this.checksums = checksumsParam;
+    }
+
+    /**
+     * Loads the cache file, if it exists.
+     * @param cacheFile The cache file.
+     * @param delegate The provider asked on a cache miss.
+     * @return The provider.
+     * @throws IOException If the cache file cannot be read.
+     */
+    static TemurinChecksumCache of(final Path cacheFile, final TemurinChecksumProvider delegate) throws IOException {
+        return new TemurinChecksumCache(cacheFile, delegate, load(cacheFile));
+    }
+
+    @Override
+    public String checksum(final String version, final String os, final String arch) throws IOException {
+        String cached;
+        synchronized (this) {
+            cached = checksums.get(key(version, os, arch));
+        }
+        // Not holding the lock, so concurrent lookups of a batch are not serialized
+        return cached != null ? cached : delegate.checksum(version, os, arch);
+    }
+
+    @Override
+    public synchronized void verified(final String version, final String os, final String arch, final String checksum) throws IOException {
+        String key = key(version, os, arch);
+        if (checksum.equals(checksums.get(key))) {
+            return;
+        }
+        // Merge with entries other runs may have added meanwhile, the file is replaced atomically
+        checksums.putAll(load(cacheFile));
+        checksums.put(key, checksum);
+        Path dir = cacheFile.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, String> entry : checksums.entrySet()) {
+            text.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        TemurinBomWriter.writeStream(cacheFile, out -> out.write(bytes));
+    }
+
+    private static String key(final String version, final String os, final String arch) {
+        return version + " " + os + " " + arch;
+    }
+
+    private static Map<String, String> load(final Path cacheFile) throws IOException {
+        Map<String, String> checksums = new TreeMap<>();
+        if (!Files.isRegularFile(cacheFile)) {
+            return checksums;
+        }
+        for (String line : Files.readAllLines(cacheFile, StandardCharsets.UTF_8)) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length == 4 && !line.startsWith("#")) {
+                checksums.put(key(fields[0], fields[1], fields[2]), TemurinChecksumProvider.parse(fields[3]));
+            }
+        }
+        return checksums;
+    }
+
+    @Override
+    public String toString() {
+        return "checksum cache " + cacheFile + " over " + delegate;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Offline checksum provider reading the *.sha256.txt files published next to the JDK
+ * archives, e.g. OpenJDK21U-jdk_x64_linux_hotspot_21.0.5_11.tar.gz.sha256.txt, from a
+ * directory and its subdirectories, so a local mirror of the release assets can be used.
+ */
+final class TemurinChecksumDirectory implements TemurinChecksumProvider {
+
+    private static final String SUFFIX = ".sha256.txt";
+
+    private final Path dir;
+    // Checksum file per archive name
+    private final Map<String, Path> files;
+
+    private TemurinChecksumDirectory(final Path dirParam, final Map<String, Path> filesParam) {
+        this.dir = dirParam;
+        this.files = filesParam;
+    }
+
+    /**
+     * Indexes the checksum files of a directory.
+     * @param dir The directory, or mirror, holding *.sha256.txt files.
+     * @return The provider.
+     * @throws IOException If the directory cannot be read.
+     */
+    static TemurinChecksumDirectory of(final Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            throw new IOException("Checksum directory " + dir + " does not exist");
+        }
+        Map<String, Path> files = new HashMap<>();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.filter(path -> path.getFileName().toString().endsWith(SUFFIX) && Files.isRegularFile(path))
+                 .forEach(path -> {
+                     String name = path.getFileName().toString();
+                     files.put(name.substring(0, name.length() - SUFFIX.length()), path);
+                 });
+        }
+        return new TemurinChecksumDirectory(dir, files);
+    }
+
+    @Override
+    public String checksum(final String version, final String os, final String arch) throws IOException {
+        Path file = files.get(TemurinChecksumProvider.archiveName(version, os, arch));
+        if (file == null) {
+            return null;
+        }
+        return TemurinChecksumProvider.parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toString() {
+        return "checksum directory " + dir;
+    }
+}
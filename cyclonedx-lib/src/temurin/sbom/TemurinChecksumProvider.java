@@ -0,0 +1,86 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Source of the official SHA-256 checksum of a Temurin JDK archive, which the hash in
+ * reproducibility evidence is validated against.
+ */
+interface TemurinChecksumProvider {
+
+    /**
+     * Looks up the checksum of the JDK archive of a release.
+     * @param version The JDK version, e.g. jdk-21.0.5+11.
+     * @param os The operating system (linux, windows, mac).
+     * @param arch The architecture (x64, aarch64, s390x, ppc64le).
+     * @return The lower case hex SHA-256, or null if the provider has no checksum for it.
+     * @throws IOException If the checksum cannot be retrieved.
+     */
+    String checksum(String version, String os, String arch) throws IOException;
+
+    /**
+     * Records that evidence matched the checksum. Providers that do not cache ignore it.
+     * @param version The JDK version.
+     * @param os The operating system.
+     * @param arch The architecture.
+     * @param checksum The verified checksum.
+     * @throws IOException If the checksum cannot be recorded.
+     */
+    default void verified(String version, String os, String arch, String checksum) throws IOException {
+    }
+
+    /**
+     * Parses the checksum from "hash  filename" as published in *.sha256.txt files and
+     * returned by the Adoptium API.
+     * @param text The checksum text.
+     * @return The lower case hex SHA-256.
+     * @throws IOException If the text does not start with a SHA-256 checksum.
+     */
+    static String parse(final String text) throws IOException {
+        String hash = text.trim().split("\\s+")[0];
+        if (!Pattern.matches("[0-9a-fA-F]{64}", hash)) {
+            throw new IOException("Could not parse checksum: " + text.trim());
+        }
+        return hash.toLowerCase();
+    }
+
+    /**
+     * The file name of the JDK archive of a release, as published: e.g.
+     * OpenJDK21U-jdk_x64_linux_hotspot_21.0.5_11.tar.gz for jdk-21.0.5+11 on x64 linux, or
+     * OpenJDK8U-jdk_x64_linux_hotspot_8u402b06.tar.gz for jdk8u402-b06.
+     * @param version The JDK version, jdk-M+B, jdk-M.0.U+B or jdk8uU-bB.
+     * @param os The operating system.
+     * @param arch The architecture.
+     * @return The archive file name.
+     */
+    static String archiveName(final String version, final String os, final String arch) {
+        String feature;
+        String release;
+        if (version.matches("jdk8u[0-9]+-b[0-9]+")) {
+            // jdk8u402-b06 is published as 8u402b06
+            feature = "8";
+            release = version.substring("jdk".length()).replace("-", "");
+        } else {
+            release = version.replaceFirst("^jdk-", "").replace('+', '_');
+            feature = release.split("[._]")[0];
+        }
+        return "OpenJDK" + feature + "U-jdk_" + arch + "_" + os + "_hotspot_" + release
+            + (os.equals("windows") ? ".zip" : ".tar.gz");
+    }
+}
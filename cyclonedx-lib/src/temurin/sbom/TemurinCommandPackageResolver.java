@@ -0,0 +1,220 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Package resolver querying the OS package manager: dpkg on Debian/Ubuntu,
+ * apk on Alpine and rpm elsewhere.
+ *
+ * Files are passed to the query command in batches rather than one process per file,
+ * and on Debian the versions of all owning packages are read with a single dpkg-query.
+ */
+final class TemurinCommandPackageResolver implements TemurinPackageResolver {
+
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * The OS package managers supported.
+     */
+    enum Tool { DPKG, APK, RPM }
+
+    private final Tool tool;
+
+    private TemurinCommandPackageResolver(final Tool toolParam) {
+        this.tool = toolParam;
+    }
+
+    /**
+     * Resolver for the package manager of this system.
+     * @return The resolver.
+     * @throws IOException If the OS package query tooling cannot be determined.
+     */
+    static TemurinPackageResolver forSystem() throws IOException {
+        return new TemurinCommandPackageResolver(systemTool());
+    }
+
+    /**
+     * The package manager of this system.
+     * @return The package manager.
+     * @throws IOException If the OS package query tooling cannot be determined.
+     */
+    static Tool systemTool() throws IOException {
+        String osRelease = "";
+        if (Files.isReadable(Paths.get("/etc/os-release"))) {
+            osRelease = new String(Files.readAllBytes(Paths.get("/etc/os-release")), StandardCharsets.UTF_8);
+        }
+        if (osRelease.contains("Alpine Linux")) {
+            return Tool.APK;
+        } else if (osRelease.matches("(?s)(.*\n)?ID[^\n]*debian.*")) {
+            return Tool.DPKG;
+        } else if (onPath("rpm")) {
+            // Probably Centos or RHEL
+            return Tool.RPM;
+        }
+        throw new IOException("Unable to determine OS package query tooling");
+    }
+
+    @Override
+    public Map<String, Owner> owners(final Collection<String> files) throws IOException {
+        List<String> all = new ArrayList<>(files);
+        Map<String, Owner> found = new HashMap<>();
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            List<String> batch = all.subList(from, Math.min(from + BATCH_SIZE, all.size()));
+            switch (tool) {
+                case DPKG:
+                    queryDpkg(batch, found);
+                    break;
+                case APK:
+                    queryApk(batch, found);
+                    break;
+                default:
+                    queryRpm(batch, found);
+                    break;
+            }
+        }
+        if (tool == Tool.DPKG && !found.isEmpty()) {
+            addDpkgVersions(found);
+        }
+        return found;
+    }
+
+    // "pkg[:arch][, pkg2...]: /path", files of no package are reported on stderr only
+    private static void queryDpkg(final List<String> batch, final Map<String, Owner> found) throws IOException {
+        Set<String> wanted = new HashSet<>(batch);
+        for (String line : run(command(Arrays.asList("dpkg", "-S"), batch))) {
+            int sep = line.indexOf(": /");
+            if (sep <= 0 || line.startsWith("diversion ")) {
+                continue;
+            }
+            String file = line.substring(sep + 2);
+            if (wanted.contains(file) && !found.containsKey(file)) {
+                String name = line.substring(0, sep).split(",")[0].trim().split(":")[0];
+                found.put(file, new Owner(name, null));
+            }
+        }
+    }
+
+    // Installed versions of all packages found, in a single query
+    private static void addDpkgVersions(final Map<String, Owner> found) throws IOException {
+        Set<String> names = new HashSet<>();
+        for (Owner owner : found.values()) {
+            names.add(owner.getName());
+        }
+        Map<String, String> versions = new HashMap<>();
+        for (String line : run(command(Arrays.asList("dpkg-query", "-W", "-f=${Package} ${Version}\\n"), new ArrayList<>(names)))) {
+            String[] fields = line.split(" ", 2);
+            if (fields.length == 2 && !versions.containsKey(fields[0])) {
+                versions.put(fields[0], fields[1].trim());
+            }
+        }
+        for (Map.Entry<String, Owner> entry : found.entrySet()) {
+            String name = entry.getValue().getName();
+            entry.setValue(new Owner(name, versions.getOrDefault(name, "")));
+        }
+    }
+
+    // "/path is owned by pkg-version"
+    private static void queryApk(final List<String> batch, final Map<String, Owner> found) throws IOException {
+        for (String line : run(command(Arrays.asList("apk", "info", "--who-owns"), batch))) {
+            int sep = line.indexOf(" is owned by ");
+            if (sep > 0) {
+                String pkg = line.substring(sep + " is owned by ".length()).trim();
+                found.put(line.substring(0, sep).trim(), new Owner(pkg, pkg));
+            }
+        }
+    }
+
+    // One NVRA line per file, in order; anything else is retried file by file
+    private static void queryRpm(final List<String> batch, final Map<String, Owner> found) throws IOException {
+        List<String> lines = run(command(Arrays.asList("rpm", "-qf", "--qf", "%{NVRA}\\n"), batch));
+        if (lines.size() == batch.size()) {
+            for (int i = 0; i < batch.size(); i++) {
+                addRpmOwner(batch.get(i), lines.get(i), found);
+            }
+            return;
+        }
+        for (String file : batch) {
+            List<String> single = run(command(Arrays.asList("rpm", "-qf", "--qf", "%{NVRA}\\n"), Arrays.asList(file)));
+            if (single.size() == 1) {
+                addRpmOwner(file, single.get(0), found);
+            }
+        }
+    }
+
+    private static void addRpmOwner(final String file, final String line, final Map<String, Owner> found) {
+        if (!line.isEmpty() && !line.contains(" is not owned by ") && !line.contains("No such file")) {
+            String pkg = line.split(" ")[0];
+            found.put(file, new Owner(pkg, pkg));
+        }
+    }
+
+    private static List<String> command(final List<String> base, final List<String> args) {
+        List<String> cmd = new ArrayList<>(base);
+        cmd.addAll(args);
+        return cmd;
+    }
+
+    // Runs the query and returns its stdout lines; a non-zero exit just means some files are not owned
+    static List<String> run(final List<String> cmd) throws IOException {
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.redirectError(ProcessBuilder.Redirect.to(new File("/dev/null")));
+        pb.redirectInput(ProcessBuilder.Redirect.from(new File("/dev/null")));
+        Process process = pb.start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted running " + cmd.get(0), e);
+        }
+        return lines;
+    }
+
+    private static boolean onPath(final String executable) {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return false;
+        }
+        for (String dir : path.split(File.pathSeparator)) {
+            if (Files.isExecutable(Paths.get(dir, executable))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes message digests of (large) files.
+ *
+ * Files are digested in parallel, one file per thread. Each file is read once through
+ * memory mapped windows, and every window is fed to all requested algorithms while it
+ * is still in cache, so asking for SHA-512 or SHA3 next to SHA-256 costs no extra I/O.
+ */
+final class TemurinFileDigester {
+
+    // Mapped per step, so files larger than 2GB work and address space use stays bounded
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    // Slice of a window handed to each digest in turn
+    private static final int SLICE_SIZE = 1024 * 1024;
+
+    private TemurinFileDigester() {
+    }
+
+    /**
+     * Digests the given files with all given algorithms.
+     * @param files The files to digest.
+     * @param algorithms JCA digest names, e.g. "SHA-256", "SHA-512", "SHA3-256".
+     * @return Lower case hex digest per algorithm, per file, in the order given.
+     * @throws IOException If a file cannot be read.
+     * @throws NoSuchAlgorithmException If an algorithm is not available in this JVM.
+     */
+    static Map<Path, Map<String, String>> digest(final List<Path> files, final List<String> algorithms) throws IOException, NoSuchAlgorithmException {
+        // Fail on an unknown algorithm before reading anything
+        for (String algorithm : algorithms) {
+            MessageDigest.getInstance(algorithm);
+        }
+
+        Map<Path, Map<String, String>> result = new LinkedHashMap<>();
+        if (files.isEmpty()) {
+            return result;
+        }
+        List<Map<String, String>> digests = TemurinParallel.map(files, Runtime.getRuntime().availableProcessors(), "digesting files",
+            file -> digestFile(file, algorithms));
+        for (int i = 0; i < files.size(); i++) {
+            result.put(files.get(i), digests.get(i));
+        }
+        return result;
+    }
+
+    // Single pass over the file, updating every digest from each mapped slice
+    static Map<String, String> digestFile(final Path file, final List<String> algorithms) throws IOException, NoSuchAlgorithmException {
+        List<MessageDigest> digests = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            digests.add(MessageDigest.getInstance(algorithm));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += WINDOW_SIZE) {
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+                for (int offset = 0; offset < window.limit(); offset += SLICE_SIZE) {
+                    int end = Math.min(offset + SLICE_SIZE, window.limit());
+                    for (MessageDigest md : digests) {
+                        ByteBuffer slice = window.duplicate();
+                        // Through Buffer/ByteBuffer, so classes built on a newer JDK still link on JDK 8
+                        ((Buffer) slice).position(offset);
+                        ((Buffer) slice).limit(end);
+                        md.update(slice);
+                    }
+                }
+            }
+        }
+        Map<String, String> hex = new LinkedHashMap<>();
+        for (int i = 0; i < algorithms.size(); i++) {
+            hex.put(algorithms.get(i), toHex(digests.get(i).digest()));
+        }
+        return hex;
+    }
+
+    private static String toHex(final byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+            sb.append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -42,14 +42,19 @@ import org.cyclonedx.model.attestation.Targets;
 import org.cyclonedx.parsers.JsonParser;
 import org.cyclonedx.parsers.XmlParser;
 import org.cyclonedx.Version;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.List;
 import java.util.LinkedList;
 import java.util.UUID;
@@ -62,6 +67,18 @@ public final class TemurinGenCDXA {
     private static boolean verbose = false;
     private static boolean useJson = false;
 
+    // Adoptium API queried for the official checksum, per --adoptium-api-url
+    private static String adoptiumApiUrl = "https://api.adoptium.net";
+    // Source of the official checksum, the Adoptium API at adoptiumApiUrl unless set
+    private static TemurinChecksumProvider checksumProvider = null;
+
+    // Patterns extracting the evidence fields, each matched within one line
+    private static final Pattern VERSION_PATTERN = Pattern.compile("Eclipse Temurin version:\\s*([^\\s]+)");
+    private static final Pattern ARCH_PATTERN = Pattern.compile("arch:\\s*([^\\s]+)");
+    private static final Pattern OS_PATTERN = Pattern.compile("os:\\s*([^\\s]+)");
+    private static final Pattern SHA256_PATTERN = Pattern.compile("sha256:\\s*([0-9a-fA-F]{64})");
+    private static final Pattern REPRODUCIBLE_PATTERN = Pattern.compile("ReproduciblePercent\\s*=\\s*100\\s*%");
+
     // Constants for evidence fields
     private static final String EVIDENCE_PROPERTY_NAME = "VERIFICATION_LOG";
     private static final String EVIDENCE_DATA_NAME = "log";
@@ -109,6 +126,21 @@ public final class TemurinGenCDXA {
         }
     }
 
+    /**
+     * The fields found by scanEvidence, null or false for those not found.
+     */
+    static final class EvidenceFields {
+        private String version;
+        private String arch;
+        private String os;
+        private String sha256;
+        private boolean reproducible100;
+
+        boolean complete() {
+            return version != null && arch != null && os != null && sha256 != null && reproducible100;
+        }
+    }
+
     /**
      * Helper class to return CDXA creation result with extracted metadata.
      */
@@ -142,9 +174,56 @@ public final class TemurinGenCDXA {
         }
     }
 
+    /**
+     * The target JDK component with its claim and evidence, of which an aggregate CDXA
+     * holds one per platform.
+     */
+    static final class CdxaTarget {
+        private final EvidenceData evidenceData;
+        private final Component component;
+        private final Claim claim;
+        private final Evidence evidence;
+
+        CdxaTarget(final EvidenceData evidenceDataParam, final Component componentParam,
+                   final Claim claimParam, final Evidence evidenceParam) {
+            this.evidenceData = evidenceDataParam;
+            this.component = componentParam;
+            this.claim = claimParam;
+            this.evidence = evidenceParam;
+        }
+
+        public EvidenceData getEvidenceData() {
+            return evidenceData;
+        }
+    }
+
     private TemurinGenCDXA() {
     }
 
+    static synchronized String getAdoptiumApiUrl() {
+        return adoptiumApiUrl;
+    }
+
+    static synchronized void setAdoptiumApiUrl(final String url) {
+        adoptiumApiUrl = url;
+        checksumProvider = null;
+    }
+
+    static synchronized TemurinChecksumProvider getChecksumProvider() {
+        if (checksumProvider == null) {
+            checksumProvider = adoptiumApi(adoptiumApiUrl);
+        }
+        return checksumProvider;
+    }
+
+    static synchronized void setChecksumProvider(final TemurinChecksumProvider provider) {
+        checksumProvider = provider;
+    }
+
+    static void setUseJson(final boolean json) {
+        useJson = json;
+    }
+
     /**
      * Main entry.
      * @param args Arguments for operation.
@@ -157,6 +236,11 @@ public final class TemurinGenCDXA {
         String affirmationWebsite = null;
         String evidenceText = null;
         String cdxaOutputFolder = "."; // Default to current directory
+        String checksumDir = null;
+        String checksumCache = null;
+        String evidenceDir = null;
+        boolean aggregate = false;
+        int threads = Runtime.getRuntime().availableProcessors();
         boolean thirdParty = true;
         useJson = false; // Default to XML
 
@@ -178,6 +262,23 @@ public final class TemurinGenCDXA {
                 String evidenceFilePath = getOptionValue(args, i, "--evidence");
                 evidenceText = readEvidenceFile(evidenceFilePath);
                 i++;
+            } else if (args[i].equals("--evidence-dir")) {
+                evidenceDir = getOptionValue(args, i, "--evidence-dir");
+                i++;
+            } else if (args[i].equals("--aggregate")) {
+                aggregate = true;
+            } else if (args[i].equals("--threads")) {
+                threads = Integer.parseInt(getOptionValue(args, i, "--threads"));
+                i++;
+            } else if (args[i].equals("--adoptium-api-url")) {
+                setAdoptiumApiUrl(getOptionValue(args, i, "--adoptium-api-url"));
+                i++;
+            } else if (args[i].equals("--checksum-dir")) {
+                checksumDir = getOptionValue(args, i, "--checksum-dir");
+                i++;
+            } else if (args[i].equals("--checksum-cache")) {
+                checksumCache = getOptionValue(args, i, "--checksum-cache");
+                i++;
             } else if (args[i].equals("--cdxa-output-folder")) {
                 cdxaOutputFolder = getOptionValue(args, i, "--cdxa-output-folder");
                 i++;
@@ -195,7 +296,9 @@ public final class TemurinGenCDXA {
             }
         }
 
+        TemurinMetrics.start("TemurinGenCDXA", cmd);
         try {
+          setChecksumProvider(createChecksumProvider(checksumDir, checksumCache));
           switch (cmd) {
             case "createCDXA":  // Create a new CDXA json/xml file
                 // Validate output folder
@@ -216,6 +319,20 @@ public final class TemurinGenCDXA {
                     System.exit(1);
                 }
 
+                if (evidenceDir != null && aggregate) {
+                    if (!createAggregateCdxa(evidenceFiles(Paths.get(evidenceDir)), cdxaOutputFolder, threads,
+                                             attestingOrgName, predicate, affirmationStmt, affirmationWebsite, thirdParty)) {
+                        System.exit(1);
+                    }
+                    break;
+                }
+                if (evidenceDir != null) {
+                    if (!createCdxas(evidenceFiles(Paths.get(evidenceDir)), cdxaOutputFolder, threads,
+                                     attestingOrgName, predicate, affirmationStmt, affirmationWebsite, thirdParty)) {
+                        System.exit(1);
+                    }
+                    break;
+                }
                 CdxaResult result = createCdxa(attestingOrgName, predicate, affirmationStmt, affirmationWebsite, evidenceText, thirdParty);
                 if (result != null && result.getBom() != null) {
                     // Derive fileName from extracted values
@@ -223,6 +340,7 @@ public final class TemurinGenCDXA {
                     // Prepend output folder to filename
                     String fullPath = cdxaOutputFolder + File.separator + fileName;
                     writeFile(result.getBom(), fullPath);
+                    TemurinMetrics.count("cdxas", 1);
                     if (verbose) {
                         System.out.println("CDXA file written to: " + fullPath);
                     }
@@ -254,7 +372,7 @@ public final class TemurinGenCDXA {
     /**
      * Validates and reads the contents of an evidence file.
      * Checks that the file exists, is a file, and is readable.
-     * Prints error message and usage, then exits on failure.
+     * Prints an error message, with usage for a bad --evidence argument, then exits on failure.
      *
      * @param evidenceFilePath The path to the evidence file
      * @return The contents of the evidence file as a string
@@ -288,11 +406,60 @@ public final class TemurinGenCDXA {
         } catch (IOException e) {
             System.out.println("ERROR: Failed to read evidence file '" + evidenceFilePath
                              + "': " + e.getMessage());
-            printUsage();
             System.exit(1);
             return null; // Never reached, but needed for compilation
         }
     }
+    /**
+     * Scans evidence text line by line for the first version, arch, os, sha256 and
+     * ReproduciblePercent = 100 % lines, in one pass that stops once all are found, so the
+     * diff output following them in large evidence is not read. Lines are matched in place
+     * rather than copied out of the text.
+     *
+     * @param evidenceText The evidence text content
+     * @return The fields found
+     */
+    static EvidenceFields scanEvidence(final CharSequence evidenceText) {
+        EvidenceFields fields = new EvidenceFields();
+        Matcher versionMatcher = VERSION_PATTERN.matcher(evidenceText);
+        Matcher archMatcher = ARCH_PATTERN.matcher(evidenceText);
+        Matcher osMatcher = OS_PATTERN.matcher(evidenceText);
+        Matcher sha256Matcher = SHA256_PATTERN.matcher(evidenceText);
+        Matcher reproducibleMatcher = REPRODUCIBLE_PATTERN.matcher(evidenceText);
+        int length = evidenceText.length();
+        int start = 0;
+        while (start < length && !fields.complete()) {
+            // Only lines with a ':' or '%' can match, most diff output lines are skipped unmatched
+            boolean colon = false;
+            boolean percent = false;
+            int end = start;
+            while (end < length && evidenceText.charAt(end) != '\n') {
+                char c = evidenceText.charAt(end++);
+                colon |= c == ':';
+                percent |= c == '%';
+            }
+            if (colon) {
+                if (fields.version == null && versionMatcher.region(start, end).find()) {
+                    fields.version = versionMatcher.group(1);
+                }
+                if (fields.arch == null && archMatcher.region(start, end).find()) {
+                    fields.arch = archMatcher.group(1);
+                }
+                if (fields.os == null && osMatcher.region(start, end).find()) {
+                    fields.os = osMatcher.group(1);
+                }
+                if (fields.sha256 == null && sha256Matcher.region(start, end).find()) {
+                    fields.sha256 = sha256Matcher.group(1);
+                }
+            }
+            if (percent && !fields.reproducible100 && reproducibleMatcher.region(start, end).find()) {
+                fields.reproducible100 = true;
+            }
+            start = end + 1;
+        }
+        return fields;
+    }
+
     /**
      * Parses evidence text to extract and validate build information.
      * Expected format includes lines like:
@@ -307,29 +474,21 @@ public final class TemurinGenCDXA {
     private static EvidenceData parseAndValidateEvidence(final String evidenceText) {
         if (evidenceText == null || evidenceText.trim().isEmpty()) {
             System.out.println("ERROR: Evidence text is empty");
-            printUsage();
             return null;
         }
 
-        // Patterns to extract values from evidence text
-        Pattern versionPattern = Pattern.compile("Eclipse Temurin version:\\s*([^\\s]+)");
-        Pattern archPattern = Pattern.compile("arch:\\s*([^\\s]+)");
-        Pattern osPattern = Pattern.compile("os:\\s*([^\\s]+)");
-        Pattern sha256Pattern = Pattern.compile("sha256:\\s*([0-9a-fA-F]{64})");
-        Pattern reproduciblePattern = Pattern.compile("ReproduciblePercent\\s*=\\s*100\\s*%");
-
-        Matcher versionMatcher = versionPattern.matcher(evidenceText);
-        Matcher archMatcher = archPattern.matcher(evidenceText);
-        Matcher osMatcher = osPattern.matcher(evidenceText);
-        Matcher sha256Matcher = sha256Pattern.matcher(evidenceText);
-        Matcher reproducibleMatcher = reproduciblePattern.matcher(evidenceText);
-
-        // Extract values
-        String extractedVersion = versionMatcher.find() ? versionMatcher.group(1) : null;
-        String extractedArch = archMatcher.find() ? archMatcher.group(1) : null;
-        String extractedOs = osMatcher.find() ? osMatcher.group(1) : null;
-        String extractedSha256 = sha256Matcher.find() ? sha256Matcher.group(1) : null;
-        boolean hasReproducible100 = reproducibleMatcher.find();
+        EvidenceFields fields;
+        TemurinMetrics.Phase parse = TemurinMetrics.phase("parse");
+        try {
+            fields = scanEvidence(evidenceText);
+        } finally {
+            parse.end();
+        }
+        String extractedVersion = fields.version;
+        String extractedArch = fields.arch;
+        String extractedOs = fields.os;
+        String extractedSha256 = fields.sha256;
+        boolean hasReproducible100 = fields.reproducible100;
 
         // Validate extracted values exist
         boolean hasErrors = false;
@@ -356,7 +515,6 @@ public final class TemurinGenCDXA {
         }
 
         if (hasErrors) {
-            printUsage();
             return null;
         }
 
@@ -370,7 +528,6 @@ public final class TemurinGenCDXA {
 
         // Validate extracted values meet format requirements
         if (!validateEvidenceParameters(extractedVersion, extractedOs, extractedArch)) {
-            printUsage();
             return null;
         }
 
@@ -384,65 +541,240 @@ public final class TemurinGenCDXA {
 
 
     /**
-     * Queries the Adoptium API to get the official SHA-256 hash for a JDK build.
-     * API URL format: https://api.adoptium.net/v3/checksum/version/{version}/{os}/{arch}/jdk/hotspot/normal/eclipse
+     * Creates a CDXA for each evidence file concurrently, each written to the output folder
+     * as it is created. The checksum lookups share the checksum provider, and so its pooled
+     * connections and cache.
      *
-     * @param version The JDK version (e.g., jdk-21.0.5+11)
-     * @param os The operating system (linux, windows, mac)
-     * @param arch The architecture (x64, aarch64, s390x, ppc64le)
-     * @return The SHA-256 hash from Adoptium API, or null if query fails
+     * @param evidenceFiles The evidence files
+     * @param cdxaOutputFolder The output folder
+     * @param threads The maximum number of CDXAs created at once
+     * @param attestingOrgName The name of the organization making the attestation
+     * @param predicate The predicate type for the claim
+     * @param affirmationStmt The affirmation statement
+     * @param affirmationWebsite The organization website
+     * @param thirdParty Whether the assessor is a third party
+     * @return true if a CDXA was created from every evidence file
      */
-    private static String queryAdoptiumHash(final String version, final String os, final String arch) {
-        String apiUrl = String.format(
-            "https://api.adoptium.net/v3/checksum/version/%s/%s/%s/jdk/hotspot/normal/eclipse",
-            version, os, arch
-        );
-
-        if (verbose) {
-            System.out.println("Querying Adoptium API: " + apiUrl);
+    static boolean createCdxas(final List<Path> evidenceFiles, final String cdxaOutputFolder, final int threads,
+                               final String attestingOrgName, final String predicate, final String affirmationStmt,
+                               final String affirmationWebsite, final boolean thirdParty) {
+        if (!validateAttestationInputs(attestingOrgName, predicate, affirmationStmt)) {
+            printUsage();
+            return false;
         }
-
-        try {
-            URL url = new URL(apiUrl);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("User-Agent", "TemurinGenCDXA/1.0");
-            conn.setConnectTimeout(10000); // 10 seconds
-            conn.setReadTimeout(10000);
-
-            int responseCode = conn.getResponseCode();
-            if (responseCode != 200) {
-                System.out.println("ERROR: Adoptium API returned status code " + responseCode + " for URL: " + apiUrl);
+        List<String> written = forEachEvidence(evidenceFiles, threads, (evidenceFile, index) -> {
+            CdxaTarget target = createCdxaTarget(predicate, readFileContents(evidenceFile.toString()), 1);
+            if (target == null) {
                 return null;
             }
+            CdxaResult result = singleTargetCdxa(attestingOrgName, affirmationStmt, affirmationWebsite, thirdParty, target);
+            String fullPath = cdxaOutputFolder + File.separator
+                + deriveFileName(result.getVersion(), result.getArch(), result.getOs(), attestingOrgName);
+            write(result.getBom(), fullPath);
+            TemurinMetrics.count("cdxas", 1);
+            return fullPath;
+        });
+        if (written == null) {
+            return false;
+        }
 
-            BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-            String inputLine;
-            StringBuilder response = new StringBuilder();
+        int created = 0;
+        for (int i = 0; i < evidenceFiles.size(); i++) {
+            if (written.get(i) != null) {
+                System.out.println("Created " + written.get(i) + " from " + evidenceFiles.get(i));
+                created++;
+            } else {
+                System.out.println("ERROR: No CDXA created from " + evidenceFiles.get(i));
+            }
+        }
+        System.out.println("Created " + created + " of " + evidenceFiles.size() + " CDXAs.");
+        return created == evidenceFiles.size();
+    }
 
-            while ((inputLine = in.readLine()) != null) {
-                response.append(inputLine);
+    /**
+     * Creates one CDXA for all the evidence files of a release, with a target, claim and
+     * evidence per platform and the assessor, affirmation and attestation shared. The
+     * targets are validated and built concurrently, the CDXA is written once. Nothing is
+     * written unless every evidence file is valid, of the same release and of another platform.
+     *
+     * @param evidenceFiles The evidence files
+     * @param cdxaOutputFolder The output folder
+     * @param threads The maximum number of evidence files validated at once
+     * @param attestingOrgName The name of the organization making the attestation
+     * @param predicate The predicate type for the claims
+     * @param affirmationStmt The affirmation statement
+     * @param affirmationWebsite The organization website
+     * @param thirdParty Whether the assessor is a third party
+     * @return true if the CDXA was created
+     */
+    static boolean createAggregateCdxa(final List<Path> evidenceFiles, final String cdxaOutputFolder, final int threads,
+                                       final String attestingOrgName, final String predicate, final String affirmationStmt,
+                                       final String affirmationWebsite, final boolean thirdParty) {
+        if (!validateAttestationInputs(attestingOrgName, predicate, affirmationStmt)) {
+            printUsage();
+            return false;
+        }
+        List<CdxaTarget> cdxaTargets = forEachEvidence(evidenceFiles, threads, (evidenceFile, index) ->
+            createCdxaTarget(predicate, readFileContents(evidenceFile.toString()), index + 1));
+        if (cdxaTargets == null) {
+            return false;
+        }
+
+        boolean valid = true;
+        Set<String> platforms = new HashSet<>();
+        String release = null;
+        for (int i = 0; i < evidenceFiles.size(); i++) {
+            CdxaTarget target = cdxaTargets.get(i);
+            if (target == null) {
+                System.out.println("ERROR: Invalid evidence " + evidenceFiles.get(i));
+                valid = false;
+                continue;
             }
-            in.close();
-
-            // Response format is: "hash  filename"
-            // Extract just the hash (first field before space)
-            String responseText = response.toString().trim();
-            String[] parts = responseText.split("\\s+");
-            if (parts.length > 0) {
-                String adoptiumHash = parts[0].trim();
-                if (verbose) {
-                    System.out.println("Adoptium API hash: " + adoptiumHash);
-                }
-                return adoptiumHash;
+            EvidenceData data = target.getEvidenceData();
+            if (release == null) {
+                release = data.getVersion();
+            } else if (!release.equals(data.getVersion())) {
+                System.out.println("ERROR: Evidence " + evidenceFiles.get(i) + " is of " + data.getVersion() + ", not " + release);
+                valid = false;
+            }
+            if (!platforms.add(data.getArch() + "_" + data.getOs())) {
+                System.out.println("ERROR: Evidence " + evidenceFiles.get(i) + " repeats platform " + data.getArch() + "_" + data.getOs());
+                valid = false;
             }
+        }
+        if (!valid) {
+            System.out.println("ERROR: No aggregate CDXA created from " + evidenceFiles.size() + " evidence files");
+            return false;
+        }
 
-            System.out.println("ERROR: Could not parse Adoptium API response: " + responseText);
+        Bom cdxa = assembleCdxa(attestingOrgName, affirmationStmt, affirmationWebsite, thirdParty, cdxaTargets);
+        String fullPath = cdxaOutputFolder + File.separator + deriveAggregateFileName(release, attestingOrgName);
+        try {
+            write(cdxa, fullPath);
+            TemurinMetrics.count("cdxas", 1);
+        } catch (IOException e) {
+            System.out.println("ERROR: Failed to write " + fullPath + ": " + e.getMessage());
+            return false;
+        }
+        System.out.println("Created " + fullPath + " with " + cdxaTargets.size() + " targets.");
+        return true;
+    }
+
+    private interface EvidenceTask<T> {
+        T apply(Path evidenceFile, int index) throws Exception;
+    }
+
+    // Runs the task for each evidence file on a pool, returning the results in order, null for
+    // a failed task, or null if interrupted
+    private static <T> List<T> forEachEvidence(final List<Path> evidenceFiles, final int threads, final EvidenceTask<T> task) {
+        if (evidenceFiles.isEmpty() || threads < 1) {
+            System.out.println("ERROR: No evidence files in --evidence-dir, or --threads less than 1");
+            return null;
+        }
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < evidenceFiles.size(); i++) {
+            indexes.add(i);
+        }
+        try {
+            return TemurinParallel.map(indexes, threads, "creating CDXAs", index -> {
+                try {
+                    return task.apply(evidenceFiles.get(index), index);
+                } catch (Exception e) {
+                    System.out.println("ERROR: " + e);
+                    return null;
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("ERROR: " + e.getMessage());
             return null;
+        }
+    }
+
+    // Writes the CDXA as JSON or XML, per --json
+    private static void write(final Bom bom, final String fullPath) throws IOException {
+        if (useJson) {
+            TemurinBomWriter.writeJson(bom, Version.VERSION_16, fullPath);
+        } else {
+            TemurinBomWriter.writeXml(bom, Version.VERSION_16, fullPath);
+        }
+    }
+
+    /**
+     * Finds the evidence files of a release: the files with "evidence" in their name, e.g.
+     * reproducible_evidence.log, in the directory and its subdirectories.
+     *
+     * @param evidenceDir The directory
+     * @return The evidence files, sorted
+     * @throws IOException If the directory cannot be read
+     */
+    static List<Path> evidenceFiles(final Path evidenceDir) throws IOException {
+        try (Stream<Path> paths = Files.walk(evidenceDir)) {
+            return paths.filter(path -> path.getFileName().toString().contains("evidence") && Files.isRegularFile(path))
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * The Adoptium API checksum provider: through a pooled java.net.http.HttpClient from
+     * JDK 11, with HttpURLConnection on older JDKs where TemurinHttpClientChecksums is not built.
+     *
+     * @param url The Adoptium API base URL
+     * @return The checksum provider
+     */
+    static TemurinChecksumProvider adoptiumApi(final String url) {
+        try {
+            return (TemurinChecksumProvider) Class.forName("temurin.sbom.TemurinHttpClientChecksums")
+                .getDeclaredConstructor(String.class).newInstance(url);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new TemurinAdoptiumChecksums(url);
+        }
+    }
+
+    /**
+     * Builds the checksum provider: the checksum files of checksumDir if given, otherwise the
+     * Adoptium API, behind the persistent cache in checksumCache if given.
+     *
+     * @param checksumDir Directory or mirror of *.sha256.txt files for offline runs, or null
+     * @param checksumCache File caching verified checksums, or null
+     * @return The checksum provider
+     * @throws IOException If the checksum directory or cache cannot be read
+     */
+    static TemurinChecksumProvider createChecksumProvider(final String checksumDir, final String checksumCache) throws IOException {
+        TemurinChecksumProvider provider = checksumDir != null
+            ? TemurinChecksumDirectory.of(Paths.get(checksumDir))
+            : adoptiumApi(getAdoptiumApiUrl());
+        return checksumCache != null ? TemurinChecksumCache.of(Paths.get(checksumCache), provider) : provider;
+    }
 
+    /**
+     * Gets the official SHA-256 hash for a JDK build from the checksum provider.
+     *
+     * @param provider The checksum provider
+     * @param version The JDK version (e.g., jdk-21.0.5+11)
+     * @param os The operating system (linux, windows, mac)
+     * @param arch The architecture (x64, aarch64, s390x, ppc64le)
+     * @return The official SHA-256 hash, or null if it is not available
+     */
+    private static String queryChecksum(final TemurinChecksumProvider provider, final String version,
+                                        final String os, final String arch) {
+        if (verbose) {
+            System.out.println("Querying " + provider + " for " + version + " " + os + " " + arch);
+        }
+        TemurinMetrics.Phase remoteLookup = TemurinMetrics.phase("remoteLookup");
+        try {
+            String checksum = provider.checksum(version, os, arch);
+            if (checksum == null) {
+                System.out.println("ERROR: No checksum for " + version + " " + os + " " + arch + " in " + provider);
+            } else if (verbose) {
+                System.out.println("Official hash: " + checksum);
+            }
+            return checksum;
         } catch (IOException e) {
-            System.out.println("ERROR: Failed to query Adoptium API: " + e.getMessage());
+            System.out.println("ERROR: Failed to query " + provider + ": " + e.getMessage());
             return null;
+        } finally {
+            remoteLookup.end();
         }
     }
 
@@ -459,25 +791,29 @@ public final class TemurinGenCDXA {
                                                      final String version,
                                                      final String os,
                                                      final String arch) {
-        String adoptiumHash = queryAdoptiumHash(version, os, arch);
+        TemurinChecksumProvider provider = getChecksumProvider();
+        String adoptiumHash = queryChecksum(provider, version, os, arch);
 
         if (adoptiumHash == null) {
-            System.out.println("ERROR: Could not verify evidence hash against Adoptium API");
-            printUsage();
+            System.out.println("ERROR: Could not verify evidence hash against " + provider);
             return false;
         }
 
         if (!evidenceHash.equalsIgnoreCase(adoptiumHash)) {
             System.out.println("ERROR: Evidence SHA-256 '" + evidenceHash
-                             + "' does not match Adoptium API hash '" + adoptiumHash + "'");
-            printUsage();
+                             + "' does not match official hash '" + adoptiumHash + "' from " + provider);
             return false;
         }
 
         if (verbose) {
-            System.out.println("[OK] Evidence SHA-256 matches Adoptium API hash");
+            System.out.println("[OK] Evidence SHA-256 matches the official hash");
         }
 
+        try {
+            provider.verified(version, os, arch, adoptiumHash);
+        } catch (IOException e) {
+            System.out.println("WARNING: Unable to cache the verified checksum: " + e.getMessage());
+        }
         return true;
     }
 
@@ -519,6 +855,33 @@ public final class TemurinGenCDXA {
             return null;
         }
 
+        CdxaTarget target = createCdxaTarget(predicate, evidenceText, 1);
+        if (target == null) {
+            return null;
+        }
+        return singleTargetCdxa(attestingOrgName, affirmationStmt, affirmationWebsite, thirdParty, target);
+    }
+
+    // The CDXA of one target JDK
+    private static CdxaResult singleTargetCdxa(final String attestingOrgName, final String affirmationStmt,
+                                               final String affirmationWebsite, final boolean thirdParty,
+                                               final CdxaTarget target) {
+        Bom cdxa = assembleCdxa(attestingOrgName, affirmationStmt, affirmationWebsite, thirdParty,
+                                Collections.singletonList(target));
+        EvidenceData evidenceData = target.getEvidenceData();
+        return new CdxaResult(cdxa, evidenceData.getVersion(), evidenceData.getArch(), evidenceData.getOs());
+    }
+
+    /**
+     * Validates the evidence of a target JDK and builds its component, claim and evidence,
+     * with BOM references numbered by index so targets can share a CDXA.
+     *
+     * @param predicate The predicate type for the claim
+     * @param evidenceText The evidence text content
+     * @param index The number of the target in its CDXA, from 1
+     * @return The target, or null if the evidence is not valid
+     */
+    static CdxaTarget createCdxaTarget(final String predicate, final String evidenceText, final int index) {
         // Parse evidence text to extract version, arch, os, and SHA-256 hash
         EvidenceData evidenceData = parseAndValidateEvidence(evidenceText);
         if (evidenceData == null) {
@@ -537,68 +900,102 @@ public final class TemurinGenCDXA {
         String targetUrl = deriveTargetUrl(targetRelease, targetOs, targetArch);
 
         // Create BOM reference IDs
-        final String targetJdkBomRef  = "target-jdk-1";
-        final String assessorBomRef   = "assessor-1";
-        final String claimBomRef      = "claim-1";
-        final String evidenceBomRef   = "evidence-1";
-
-        // Build CDXA components
-        Declarations declarations = new Declarations();
-        Component targetJDK = createTargetComponent(targetName, targetVersion, targetUrl, targetHash,
-                                                     targetJdkBomRef, targetArch, targetOs);
-        Targets targets = new Targets();
-        List<Component> components = new LinkedList<Component>();
-        components.add(targetJDK);
-        targets.setComponents(components);
-        declarations.setTargets(targets);
-
-        Assessor assessor = createAssessor(attestingOrgName, assessorBomRef, thirdParty);
-        List<Assessor> assessors = new LinkedList<Assessor>();
-        assessors.add(assessor);
-        declarations.setAssessors(assessors);
-
-        Claim claim = createClaim(predicate, targetJDK.getBomRef(), claimBomRef, evidenceBomRef);
-        List<Claim> claims = new LinkedList<Claim>();
-        claims.add(claim);
-        declarations.setClaims(claims);
-
-        Affirmation affirmation = new Affirmation();
-        affirmation.setStatement(affirmationStmt);
-
-        /*
-         * CycloneDX core java XML generation bug missing Signatories ExternalReference website: https://github.com/CycloneDX/cyclonedx-core-java/issues/812
-         * Add back in when resolved upstream
-        Signatory      signatory    = new Signatory();
-        OrganizationalEntity org = new OrganizationalEntity();
-        org.setName(attestingOrgName);
-        signatory.setOrganization(org);
-        ExternalReference orgExtRef = new ExternalReference();
-        orgExtRef.setUrl(affirmationWebsite);
-        orgExtRef.setType(ExternalReference.Type.WEBSITE);
-        signatory.setExternalReference(orgExtRef);
-        List<Signatory> signatories = new LinkedList<Signatory>();
-        signatories.add(signatory);
-        affirmation.setSignatories(signatories);
-        */
-
-        declarations.setAffirmation(affirmation);
+        final String targetJdkBomRef  = "target-jdk-" + index;
+        final String claimBomRef      = "claim-" + index;
+        final String evidenceBomRef   = "evidence-" + index;
 
-        Evidence evidence = createEvidence(evidenceText, evidenceBomRef);
-        List<Evidence> evidenceList = new LinkedList<Evidence>();
-        evidenceList.add(evidence);
-        declarations.setEvidence(evidenceList);
-
-        Attestation attestation = createAttestation(assessor.getBomRef(), claim.getBomRef());
-        List<Attestation> attestations = new LinkedList<Attestation>();
-        attestations.add(attestation);
-        declarations.setAttestations(attestations);
-
-        // Create CDXA Bom
-        Bom cdxa = new Bom();
-        cdxa.setSerialNumber("urn:uuid:" + UUID.randomUUID());
-        cdxa.setDeclarations(declarations);
+        TemurinMetrics.Phase generate = TemurinMetrics.phase("generate");
+        try {
+            Component targetJDK = createTargetComponent(targetName, targetVersion, targetUrl, targetHash,
+                                                         targetJdkBomRef, targetArch, targetOs);
+            Claim claim = createClaim(predicate, targetJDK.getBomRef(), claimBomRef, evidenceBomRef);
+            Evidence evidence = createEvidence(evidenceText, evidenceBomRef);
+            TemurinMetrics.count("targets", 1);
+            return new CdxaTarget(evidenceData, targetJDK, claim, evidence);
+        } finally {
+            generate.end();
+        }
+    }
 
-        return new CdxaResult(cdxa, targetRelease, targetArch, targetOs);
+    /**
+     * Builds the CDXA of targets, with one assessor, affirmation and attestation of all
+     * their claims.
+     *
+     * @param attestingOrgName The name of the organization making the attestation
+     * @param affirmationStmt The affirmation statement
+     * @param affirmationWebsite The organization website
+     * @param thirdParty Whether the assessor is a third party
+     * @param cdxaTargets The targets
+     * @return The CDXA
+     */
+    static Bom assembleCdxa(final String attestingOrgName, final String affirmationStmt,
+                            final String affirmationWebsite, final boolean thirdParty,
+                            final List<CdxaTarget> cdxaTargets) {
+        TemurinMetrics.Phase generate = TemurinMetrics.phase("generate");
+        try {
+            // Create BOM reference IDs
+            final String assessorBomRef   = "assessor-1";
+
+            // Build CDXA components
+            Declarations declarations = new Declarations();
+            Targets targets = new Targets();
+            List<Component> components = new LinkedList<Component>();
+            List<Claim> claims = new LinkedList<Claim>();
+            List<Evidence> evidenceList = new LinkedList<Evidence>();
+            List<String> claimBomRefs = new LinkedList<String>();
+            for (CdxaTarget target : cdxaTargets) {
+                components.add(target.component);
+                claims.add(target.claim);
+                evidenceList.add(target.evidence);
+                claimBomRefs.add(target.claim.getBomRef());
+            }
+            targets.setComponents(components);
+            declarations.setTargets(targets);
+
+            Assessor assessor = createAssessor(attestingOrgName, assessorBomRef, thirdParty);
+            List<Assessor> assessors = new LinkedList<Assessor>();
+            assessors.add(assessor);
+            declarations.setAssessors(assessors);
+
+            declarations.setClaims(claims);
+
+            Affirmation affirmation = new Affirmation();
+            affirmation.setStatement(affirmationStmt);
+
+            /*
+             * CycloneDX core java XML generation bug missing Signatories ExternalReference website: https://github.com/CycloneDX/cyclonedx-core-java/issues/812
+             * Add back in when resolved upstream
+            Signatory      signatory    = new Signatory();
+            OrganizationalEntity org = new OrganizationalEntity();
+            org.setName(attestingOrgName);
+            signatory.setOrganization(org);
+            ExternalReference orgExtRef = new ExternalReference();
+            orgExtRef.setUrl(affirmationWebsite);
+            orgExtRef.setType(ExternalReference.Type.WEBSITE);
+            signatory.setExternalReference(orgExtRef);
+            List<Signatory> signatories = new LinkedList<Signatory>();
+            signatories.add(signatory);
+            affirmation.setSignatories(signatories);
+            */
+
+            declarations.setAffirmation(affirmation);
+
+            declarations.setEvidence(evidenceList);
+
+            Attestation attestation = createAttestation(assessor.getBomRef(), claimBomRefs);
+            List<Attestation> attestations = new LinkedList<Attestation>();
+            attestations.add(attestation);
+            declarations.setAttestations(attestations);
+
+            // Create CDXA Bom
+            Bom cdxa = new Bom();
+            cdxa.setSerialNumber("urn:uuid:" + UUID.randomUUID());
+            cdxa.setDeclarations(declarations);
+
+            return cdxa;
+        } finally {
+            generate.end();
+        }
     }
 
     /**
@@ -612,6 +1009,29 @@ public final class TemurinGenCDXA {
      */
     private static boolean validateCdxaInputs(final String attestingOrgName, final String predicate,
                                               final String affirmationStmt, final String evidenceText) {
+        boolean validInput = validateAttestationInputs(attestingOrgName, predicate, affirmationStmt);
+
+        if (evidenceText == null) {
+            System.out.println("ERROR: --evidence not specified");
+            validInput = false;
+        } else if (evidenceText.trim().isEmpty()) {
+            System.out.println("ERROR: --evidence cannot be empty");
+            validInput = false;
+        }
+
+        return validInput;
+    }
+
+    /**
+     * Validates the CDXA input parameters other than the evidence.
+     *
+     * @param attestingOrgName The name of the organization making the attestation
+     * @param predicate The predicate type for the claim
+     * @param affirmationStmt The affirmation statement
+     * @return true if the inputs are valid, false otherwise
+     */
+    private static boolean validateAttestationInputs(final String attestingOrgName, final String predicate,
+                                                     final String affirmationStmt) {
         boolean validInput = true;
 
         if (attestingOrgName == null) {
@@ -638,13 +1058,6 @@ public final class TemurinGenCDXA {
             System.out.println("ERROR: --affirmation-stmt not specified");
             validInput = false;
         }
-        if (evidenceText == null) {
-            System.out.println("ERROR: --evidence not specified");
-            validInput = false;
-        } else if (evidenceText.trim().isEmpty()) {
-            System.out.println("ERROR: --evidence cannot be empty");
-            validInput = false;
-        }
 
         return validInput;
     }
@@ -780,18 +1193,16 @@ public final class TemurinGenCDXA {
      * Creates the attestation component.
      *
      * @param assessorBomRef The BOM reference of the assessor
-     * @param claimBomRef The BOM reference of the claim
+     * @param claimBomRefs The BOM references of the claims
      * @return The configured Attestation object
      */
-    private static Attestation createAttestation(final String assessorBomRef, final String claimBomRef) {
+    private static Attestation createAttestation(final String assessorBomRef, final List<String> claimBomRefs) {
         Attestation attestation = new Attestation();
         attestation.setSummary("Eclipse Temurin CycloneDX Attestation");
         attestation.setAssessor(assessorBomRef);
 
         AttestationMap attestationMap = new AttestationMap();
-        List<String> claimsList = new LinkedList<String>();
-        claimsList.add(claimBomRef);
-        attestationMap.setClaims(claimsList);
+        attestationMap.setClaims(new LinkedList<String>(claimBomRefs));
 
         List<AttestationMap> attestationMaps = new LinkedList<AttestationMap>();
         attestationMaps.add(attestationMap);
@@ -813,6 +1224,13 @@ public final class TemurinGenCDXA {
         System.out.println("                                 (must include version, arch, os, and sha256 fields)");
         System.out.println("\nOptional Options:");
         System.out.println("  --cdxa-output-folder <path>    Output folder for CDXA file (default: current directory)");
+        System.out.println("  --evidence-dir <path>          Create a CDXA for every *evidence* file of this directory, in place of --evidence");
+        System.out.println("  --aggregate                    With --evidence-dir, create one CDXA of the release for all platforms");
+        System.out.println("  --threads <n>                  Number of CDXAs created at once with --evidence-dir (default: processors)");
+        System.out.println("  --checksum-dir <path>          Validate the SHA-256 against the *.sha256.txt files of this directory");
+        System.out.println("                                 or release mirror instead of the Adoptium API (offline)");
+        System.out.println("  --checksum-cache <file>        Cache verified checksums in this file and use them without a lookup");
+        System.out.println("  --adoptium-api-url <url>       Adoptium API base URL (default: https://api.adoptium.net)");
         //System.out.println("  --affirmation-website <url>    Organization website"); // Removed until bug fixed: https://github.com/CycloneDX/cyclonedx-core-java/issues/812
         System.out.println("  --json                         Generate JSON output (default: XML)");
         System.out.println("  --xml                          Generate XML output");
@@ -832,13 +1250,13 @@ public final class TemurinGenCDXA {
         System.out.println("  Example: jdk_21_0_1_12_x64_linux_AcmeInc.xml");
         System.out.println("\nNote:");
         System.out.println("  - Version, arch, os, and SHA-256 hash are extracted from the evidence file");
-        System.out.println("  - SHA-256 hash is validated against the Adoptium API");
+        System.out.println("  - SHA-256 hash is validated against the Adoptium API, or the --checksum-dir files");
     }
 
     /**
      * Validates evidence parameters according to Temurin CDXA requirements.
      *
-     * @param version The JDK version extracted from evidence (jdk-M+B or jdk-M.0.U+B format)
+     * @param version The JDK version extracted from evidence (jdk-M+B, jdk-M.0.U+B or jdk8uU-bB format)
      * @param os The OS extracted from evidence (linux, windows, mac)
      * @param arch The architecture extracted from evidence (x64, aarch64, s390x, ppc64le)
      * @return true if valid, false otherwise
@@ -846,11 +1264,11 @@ public final class TemurinGenCDXA {
     static boolean validateEvidenceParameters(final String version, final String os, final String arch) {
         boolean valid = true;
 
-        // Validate version format: jdk-M+B or jdk-M.0.U+B
-        Pattern releasePattern = Pattern.compile("^jdk-([0-9]+)(\\.[0-9]+\\.[0-9]+)?\\+([0-9]+)$");
+        // Validate version format: jdk-M+B or jdk-M.0.U+B, or jdk8uU-bB for JDK 8
+        Pattern releasePattern = Pattern.compile("^jdk-([0-9]+)(\\.[0-9]+\\.[0-9]+)?\\+([0-9]+)$|^jdk8u[0-9]+-b[0-9]+$");
         Matcher releaseMatcher = releasePattern.matcher(version);
         if (!releaseMatcher.matches()) {
-            System.out.println("ERROR: Evidence version '" + version + "' is not in valid format: jdk-M+B or jdk-M.0.U+B");
+            System.out.println("ERROR: Evidence version '" + version + "' is not in valid format: jdk-M+B, jdk-M.0.U+B or jdk8uU-bB");
             valid = false;
         }
 
@@ -916,6 +1334,20 @@ public final class TemurinGenCDXA {
         return releaseFormatted + "_" + targetArch + "_" + targetOs + "_" + orgFormatted + "." + extension;
     }
 
+    /**
+     * Derives the file name of the aggregate CDXA of a release, for all platforms.
+     *
+     * @param targetRelease The release, e.g. jdk-21.0.5+11
+     * @param attestingOrgName The name of the organization making the attestation
+     * @return The file name, e.g. jdk_21_0_5_11_AcmeInc.json
+     */
+    static String deriveAggregateFileName(final String targetRelease, final String attestingOrgName) {
+        String releaseFormatted = targetRelease.replaceAll("[-\\.\\+]", "_");
+        String orgFormatted = attestingOrgName.replaceAll("[^a-zA-Z0-9]", "");
+        String extension = useJson ? "json" : "xml";
+        return releaseFormatted + "_" + orgFormatted + "." + extension;
+    }
+
     static String generateBomJson(final Bom bom) throws GeneratorException {
         // Use schema v16: https://cyclonedx.org/schema/bom-1.6.schema.json
         BomJsonGenerator bomGen = new BomJsonGenerator(bom, Version.VERSION_16);
@@ -938,30 +1370,20 @@ public final class TemurinGenCDXA {
         }
     }
 
-    // Writes the BOM object to the specified JSON file.
+    // Streams the BOM object to the specified JSON file, replacing it atomically.
     static void writeJSONfile(final Bom bom, final String fileName) {
-        FileWriter file;
         try {
-            String json = generateBomJson(bom);
-
-            file = new FileWriter(fileName);
-            file.write(json);
-            file.close();
+            TemurinBomWriter.writeJson(bom, Version.VERSION_16, fileName);
         } catch (Exception e) {
             e.printStackTrace();
             System.exit(1);
         }
     }
 
-    // Writes the BOM object to the specified XML file.
+    // Streams the BOM object to the specified XML file, replacing it atomically.
     static void writeXMLfile(final Bom bom, final String fileName) {
-        FileWriter file;
         try {
-            String xml = generateBomXml(bom);
-
-            file = new FileWriter(fileName);
-            file.write(xml);
-            file.close();
+            TemurinBomWriter.writeXml(bom, Version.VERSION_16, fileName);
         } catch (Exception e) {
             e.printStackTrace();
             System.exit(1);
@@ -1006,15 +1428,8 @@ public final class TemurinGenCDXA {
      * @throws IOException If an I/O error occurs
      */
     static String readFileContents(final String filePath) throws IOException {
-        StringBuilder content = new StringBuilder();
-        try (FileReader reader = new FileReader(filePath)) {
-            char[] buffer = new char[8192];
-            int charsRead;
-            while ((charsRead = reader.read(buffer)) != -1) {
-                content.append(buffer, 0, charsRead);
-            }
-        }
-        return content.toString();
+        // Decoded straight into the String, evidence can be large with its diff output
+        return new String(Files.readAllBytes(Paths.get(filePath)), StandardCharsets.UTF_8);
     }
 
 }
@@ -35,10 +35,15 @@ import org.cyclonedx.parsers.JsonParser;
 import org.cyclonedx.parsers.XmlParser;
 import org.cyclonedx.Version;
 import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -48,11 +53,14 @@ public final class TemurinGenSBOM {
 
     private static boolean verbose = false;
     private static boolean useJson = false;
+    private static boolean useSnapshot = false;
+    private static String alsoJsonFile = null;
+    private static String alsoXmlFile = null;
 
     private TemurinGenSBOM() {
     }
 
-    private static final class ParsedArgs {
+    static final class ParsedArgs {
         private String cmd = "";
         private String comment;
         private String compName;
@@ -61,7 +69,11 @@ public final class TemurinGenSBOM {
         private String formulaName;
         private String formulaPropName;
         private String fileName;
+        private String alsoJsonFile;
+        private String alsoXmlFile;
         private String hash;
+        private String hashAlgorithms;
+        private List<String> hashFiles = new LinkedList<>();
         private String name;
         private String rawTaskTypes;
         private String tool;
@@ -75,6 +87,8 @@ public final class TemurinGenSBOM {
         private String workflowUid;
         private boolean verbose;
         private boolean useJson;
+        private boolean useSnapshot;
+        private boolean journal;
 
         //Getters and Setters
         public String getCmd() {
@@ -91,6 +105,34 @@ public final class TemurinGenSBOM {
             this.fileName = fileNameParam;
         }
 
+        public String getAlsoJsonFile() {
+            return alsoJsonFile;
+        }
+        public void setAlsoJsonFile(final String alsoJsonFileParam) {
+            this.alsoJsonFile = alsoJsonFileParam;
+        }
+
+        public String getAlsoXmlFile() {
+            return alsoXmlFile;
+        }
+        public void setAlsoXmlFile(final String alsoXmlFileParam) {
+            this.alsoXmlFile = alsoXmlFileParam;
+        }
+
+        public String getHashAlgorithms() {
+            return hashAlgorithms;
+        }
+        public void setHashAlgorithms(final String hashAlgorithmsParam) {
+            this.hashAlgorithms = hashAlgorithmsParam;
+        }
+
+        public List<String> getHashFiles() {
+            return hashFiles;
+        }
+        public void addHashFile(final String hashFileParam) {
+            this.hashFiles.add(hashFileParam);
+        }
+
         public boolean isUseJson() {
             return useJson;
         }
@@ -98,6 +140,20 @@ public final class TemurinGenSBOM {
             this.useJson = useJsonFlag;
         }
 
+        public boolean isUseSnapshot() {
+            return useSnapshot;
+        }
+        public void setUseSnapshot(final boolean useSnapshotFlag) {
+            this.useSnapshot = useSnapshotFlag;
+        }
+
+        public boolean isJournal() {
+            return journal;
+        }
+        public void setJournal(final boolean journalFlag) {
+            this.journal = journalFlag;
+        }
+
         public boolean isVerbose() {
             return verbose;
         }
@@ -237,15 +293,8 @@ public final class TemurinGenSBOM {
         * @param args Arguments for sbom operation.
         */
         public static void main(final String[] args) {
-            final ParsedArgs parsedArgs = parseArgs(args);
-
-            //Mirror into the class variables
-            useJson = parsedArgs.isUseJson();
-            verbose = parsedArgs.isVerbose();
-
             try {
-                final Bom bom = dispatch(parsedArgs, args);
-                writeFile(bom, parsedArgs.getFileName());
+                run(args);
             } catch (Exception e) {
                 echoArgs(args);
                 System.out.println("\nException: " + e);
@@ -253,13 +302,60 @@ public final class TemurinGenSBOM {
             }
         }
 
+        // Runs one sbom operation, throwing rather than exiting when it fails, so that
+        // TemurinCDSTraining can run several in one JVM
+        static void run(final String[] args) throws Exception {
+            final ParsedArgs parsedArgs = parseArgs(args);
+            configure(parsedArgs);
+            TemurinMetrics.start("TemurinGenSBOM", parsedArgs.getCmd());
+
+            if (parsedArgs.isJournal() && !parsedArgs.getCmd().equals("compact")) {
+                journal(parsedArgs, args);
+                return;
+            }
+            final Bom bom = dispatch(parsedArgs, args);
+            if (TemurinMetrics.enabled()) {
+                countContents(bom);
+            }
+            saveFile(bom, parsedArgs.getFileName());
+            if (parsedArgs.getCmd().equals("compact")) {
+                TemurinSBOMJournal.delete(parsedArgs.getFileName());
+            }
+        }
+
+        // Counts the components and properties of the BOM written, for the metrics
+        private static void countContents(final Bom bom) {
+            long components = 0;
+            long properties = bom.getProperties() != null ? bom.getProperties().size() : 0;
+            if (bom.getMetadata() != null && bom.getMetadata().getProperties() != null) {
+                properties += bom.getMetadata().getProperties().size();
+            }
+            if (bom.getComponents() != null) {
+                for (Component component : bom.getComponents()) {
+                    components++;
+                    properties += component.getProperties() != null ? component.getProperties().size() : 0;
+                }
+            }
+            TemurinMetrics.count("components", components);
+            TemurinMetrics.count("properties", properties);
+        }
+
+        //Mirror into the class variables
+        static void configure(final ParsedArgs parsedArgs) {
+            useJson = parsedArgs.isUseJson();
+            verbose = parsedArgs.isVerbose();
+            useSnapshot = parsedArgs.isUseSnapshot();
+            alsoJsonFile = parsedArgs.getAlsoJsonFile();
+            alsoXmlFile = parsedArgs.getAlsoXmlFile();
+        }
+
         private static void echoArgs(final String[] raw) {
         for (int i = 0; i < raw.length; i++) {
             System.out.print(raw[i] + " ");
             }
         }
 
-        private static ParsedArgs parseArgs(final String[] args) {
+        static ParsedArgs parseArgs(final String[] args) {
 
             final ParsedArgs pa = new ParsedArgs();
 
@@ -271,6 +367,10 @@ public final class TemurinGenSBOM {
                 } else if (a.equals("--xmlFile")) {
                     pa.setFileName(args[++i]);
                     pa.setUseJson(false);
+                } else if (a.equals("--alsoJsonFile")) {
+                    pa.setAlsoJsonFile(args[++i]);
+                } else if (a.equals("--alsoXmlFile")) {
+                    pa.setAlsoXmlFile(args[++i]);
                 } else if (a.equals("--version")) {
                     pa.setVersion(args[++i]);
                 } else if (a.equals("--name")) {
@@ -305,6 +405,12 @@ public final class TemurinGenSBOM {
                     pa.setCmd("addComponent");
                 } else if (a.equals("--addComponentHash")) {
                     pa.setCmd("addComponentHash");
+                } else if (a.equals("--hashFiles")) {
+                    pa.setCmd("hashFiles");
+                } else if (a.equals("--hashFile")) {
+                    pa.addHashFile(args[++i]);
+                } else if (a.equals("--hashAlgorithms")) {
+                    pa.setHashAlgorithms(args[++i]);
                 } else if (a.equals("--addComponentProp")) {
                     pa.setCmd("addComponentProp");
                 } else if (a.equals("--addMetadataTools")) {
@@ -317,6 +423,12 @@ public final class TemurinGenSBOM {
                     pa.setCmd("addFormulationCompProp");
                 } else if (a.equals("--verbose")) {
                     pa.setVerbose(true);
+                } else if (a.equals("--snapshot")) {
+                    pa.setUseSnapshot(true);
+                } else if (a.equals("--journal")) {
+                    pa.setJournal(true);
+                } else if (a.equals("--compact")) {
+                    pa.setCmd("compact");
                 } else if (a.equals("--addFormulaProp")) {
                     pa.setCmd("addFormulaProp");
                 } else if (a.equals("--formulaPropName")) {
@@ -346,26 +458,88 @@ public final class TemurinGenSBOM {
 
         private static Bom dispatch(final ParsedArgs a, final String[] raw) throws Exception {
             switch (a.getCmd()) {
-                case "createNewSBOM":           return execCreateNewSBOM();
-                case "addMetadata":             return execAddMetadata(a);
-                case "addMetadataComponent":    return execAddMetadataComponent(a);
-                case "addMetadataProperty":     return execAddMetadataProperty(a);
-                case "addFormulation":          return execAddFormulation(a);
-                case "addFormulationComp":      return execAddFormulationComp(a);
-                case "addFormulationCompProp":  return execAddFormulationCompProp(a);
-                case "addMetadataTools":        return execAddMetadataTools(a);
-                case "addComponent":            return execAddComponent(a);
-                case "addComponentHash":        return execAddComponentHash(a);
-                case "addComponentProp":        return execAddComponentProp(a);
-                case "addFormulaProp":          return execAddFormulaProp(a);
-                case "addWorkflow":             return execAddWorkflow(a);
-                case "addWorkflowStep":         return execAddWorkflowStep(a);
-                case "addWorkflowStepCmd":      return execAddWorkflowStepCmd(a);
-                default:
+                case "createNewSBOM":
+                    TemurinSBOMJournal.delete(a.getFileName());
+                    return execCreateNewSBOM();
+                case "compact":                 return compact(a.getFileName());
+                case "":
                     echoArgs(raw);
                     System.out.println("\nPlease enter a valid command.");
                     System.exit(1);
                     return null;
+                default:
+                    if (TemurinSBOMJournal.exists(a.getFileName())) {
+                        throw new IllegalStateException(a.getFileName() + " has a pending journal, run --compact first");
+                    }
+                    return apply(TemurinSBOMIndex.of(readFile(a.getFileName())), a);
+            }
+        }
+
+        // Records the command in the SBOM's journal instead of applying it (--journal)
+        private static void journal(final ParsedArgs a, final String[] raw) throws Exception {
+            if (a.getCmd().isEmpty()) {
+                echoArgs(raw);
+                System.out.println("\nPlease enter a valid command.");
+                System.exit(1);
+            }
+            List<String> record = new LinkedList<>();
+            for (String arg : raw) {
+                if (!arg.equals("--journal")) {
+                    record.add(arg);
+                }
+            }
+            TemurinSBOMJournal.append(a.getFileName(), record, a.getCmd().equals("createNewSBOM"));
+            if (verbose) {
+                System.out.println("Journaled " + a.getCmd() + " for " + a.getFileName());
+            }
+        }
+
+        // Replays the journal of the file, in order, into the BOM (--compact)
+        static Bom compact(final String fileName) throws Exception {
+            TemurinSBOMIndex index = null;
+            for (String[] record : TemurinSBOMJournal.read(fileName)) {
+                ParsedArgs a = parseArgs(record);
+                if (a.getCmd().equals("createNewSBOM")) {
+                    index = TemurinSBOMIndex.of(createBom());
+                } else {
+                    if (index == null) {
+                        index = TemurinSBOMIndex.of(readFile(fileName));
+                    }
+                    apply(index, a);
+                }
+            }
+            if (index == null) {
+                index = TemurinSBOMIndex.of(readFile(fileName));
+            }
+            return index.getBom();
+        }
+
+        // Applies a single parsed command to an already loaded and indexed BOM
+        static Bom apply(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            final Bom bom = index.getBom();
+            TemurinMetrics.Phase mutate = TemurinMetrics.phase("mutate");
+            try {
+                switch (a.getCmd()) {
+                    case "addMetadata":             return execAddMetadata(bom);
+                    case "addMetadataComponent":    return execAddMetadataComponent(bom, a);
+                    case "addMetadataProperty":     return execAddMetadataProperty(bom, a);
+                    case "addFormulation":          return execAddFormulation(index, a);
+                    case "addFormulationComp":      return execAddFormulationComp(index, a);
+                    case "addFormulationCompProp":  return execAddFormulationCompProp(index, a);
+                    case "addMetadataTools":        return execAddMetadataTools(bom, a);
+                    case "addComponent":            return execAddComponent(index, a);
+                    case "addComponentHash":        return execAddComponentHash(index, a);
+                    case "addComponentProp":        return execAddComponentProp(index, a);
+                    case "hashFiles":               return execHashFiles(index, a);
+                    case "addFormulaProp":          return execAddFormulaProp(bom, a);
+                    case "addWorkflow":             return execAddWorkflow(index, a);
+                    case "addWorkflowStep":         return execAddWorkflowStep(index, a);
+                    case "addWorkflowStepCmd":      return execAddWorkflowStepCmd(index, a);
+                    default:
+                        throw new IllegalArgumentException("Unsupported command: " + a.getCmd());
+                }
+            } finally {
+                mutate.end();
             }
         }
 
@@ -373,60 +547,64 @@ public final class TemurinGenSBOM {
             return createBom();
         }
 
-        private static Bom execAddMetadata(final ParsedArgs a) throws Exception {
-            return addMetadata(a.getFileName());
+        private static Bom execAddMetadata(final Bom bom) throws Exception {
+            return addMetadata(bom);
         }
 
-        private static Bom execAddMetadataComponent(final ParsedArgs a) throws Exception {
-            return addMetadataComponent(a.getFileName(), a.getName(), a.getType(), a.getVersion(), a.getDescription());
+        private static Bom execAddMetadataComponent(final Bom bom, final ParsedArgs a) throws Exception {
+            return addMetadataComponent(bom, a.getName(), a.getType(), a.getVersion(), a.getDescription());
         }
 
-        private static Bom execAddMetadataProperty(final ParsedArgs a) throws Exception {
-            return addMetadataProperty(a.getFileName(), a.getName(), a.getValue());
+        private static Bom execAddMetadataProperty(final Bom bom, final ParsedArgs a) throws Exception {
+            return addMetadataProperty(bom, a.getName(), a.getValue());
         }
 
-        private static Bom execAddFormulation(final ParsedArgs a) throws Exception {
-            return addFormulation(a.getFileName(), a.getFormulaName());
+        private static Bom execAddFormulation(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addFormulation(index, a.getFormulaName());
         }
 
-        private static Bom execAddFormulationComp(final ParsedArgs a) throws Exception {
-            return addFormulationComp(a.getFileName(), a.getFormulaName(), a.getName(), a.getType());
+        private static Bom execAddFormulationComp(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addFormulationComp(index, a.getFormulaName(), a.getName(), a.getType());
         }
 
-        private static Bom execAddFormulationCompProp(final ParsedArgs a) throws Exception {
-            return addFormulationCompProp(a.getFileName(), a.getFormulaName(), a.getCompName(), a.getName(), a.getValue());
+        private static Bom execAddFormulationCompProp(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addFormulationCompProp(index, a.getFormulaName(), a.getCompName(), a.getName(), a.getValue());
         }
 
-        private static Bom execAddMetadataTools(final ParsedArgs a) throws Exception {
-            return addMetadataTools(a.getFileName(), a.getTool(), a.getVersion());
+        private static Bom execAddMetadataTools(final Bom bom, final ParsedArgs a) throws Exception {
+            return addMetadataTools(bom, a.getTool(), a.getVersion());
         }
 
-        private static Bom execAddComponent(final ParsedArgs a) throws Exception {
-            return addComponent(a.getFileName(), a.getCompName(), a.getVersion(), a.getDescription());
+        private static Bom execAddComponent(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addComponent(index, a.getCompName(), a.getVersion(), a.getDescription());
         }
 
-        private static Bom execAddComponentHash(final ParsedArgs a) throws Exception {
-            return addComponentHash(a.getFileName(), a.getCompName(), a.getHash());
+        private static Bom execAddComponentHash(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addComponentHash(index, a.getCompName(), a.getHash());
         }
 
-        private static Bom execAddComponentProp(final ParsedArgs a) throws Exception {
-            return addComponentProperty(a.getFileName(), a.getCompName(), a.getName(), a.getValue());
+        private static Bom execHashFiles(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addComponentHashes(index, a.getHashFiles(), a.getHashAlgorithms());
         }
 
-        private static Bom execAddFormulaProp(final ParsedArgs a) throws Exception {
-            return addFormulaProperty(a.getFileName(), a.getFormulaName(), a.getFormulaPropName(), a.getValue());
+        private static Bom execAddComponentProp(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addComponentProperty(index, a.getCompName(), a.getName(), a.getValue());
         }
 
-        private static Bom execAddWorkflow(final ParsedArgs a) throws Exception {
-            return addWorkflow(a.getFileName(), a.getFormulaName(), a.getWorkflowRef(), a.getWorkflowUid(), a.getWorkflowName(), a.getRawTaskTypes());
+        private static Bom execAddFormulaProp(final Bom bom, final ParsedArgs a) throws Exception {
+            return addFormulaProperty(bom, a.getFormulaName(), a.getFormulaPropName(), a.getValue());
         }
 
-        private static Bom execAddWorkflowStep(final ParsedArgs a) throws Exception {
-            return addWorkflowStep(a.getFileName(), a.getFormulaName(), a.getWorkflowRef(), a.getWorkflowStepName(), a.getDescription());
+        private static Bom execAddWorkflow(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addWorkflow(index, a.getFormulaName(), a.getWorkflowRef(), a.getWorkflowUid(), a.getWorkflowName(), a.getRawTaskTypes());
         }
 
-        private static Bom execAddWorkflowStepCmd(final ParsedArgs a) throws Exception {
-            return addWorkflowStepCmd(a.getFileName(), a.getFormulaName(), a.getWorkflowRef(), a.getWorkflowStepName(), a.getExecuted());
+        private static Bom execAddWorkflowStep(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addWorkflowStep(index, a.getFormulaName(), a.getWorkflowRef(), a.getWorkflowStepName(), a.getDescription());
+        }
+
+        private static Bom execAddWorkflowStepCmd(final TemurinSBOMIndex index, final ParsedArgs a) throws Exception {
+            return addWorkflowStepCmd(index, a.getFormulaName(), a.getWorkflowRef(), a.getWorkflowStepName(), a.getExecuted());
         }
 
     /*
@@ -449,8 +627,7 @@ public final class TemurinGenSBOM {
     }
 
     // Method to store Metadata --> name.
-    static Bom addMetadata(final String fileName) {
-        Bom bom = readFile(fileName);
+    static Bom addMetadata(final Bom bom) {
         Metadata meta = getBomMetadata(bom);
         OrganizationalEntity org = new OrganizationalEntity();
         org.setName("Eclipse Foundation");
@@ -463,8 +640,7 @@ public final class TemurinGenSBOM {
         return bom;
     }
 
-    static Bom addMetadataComponent(final String fileName, final String name, final String type, final String version, final String description) {
-        Bom bom = readFile(fileName);
+    static Bom addMetadataComponent(final Bom bom, final String name, final String type, final String version, final String description) {
         Metadata meta = getBomMetadata(bom);
         Component comp = new Component();
         Component.Type compType = Component.Type.FRAMEWORK;
@@ -485,8 +661,7 @@ public final class TemurinGenSBOM {
     }
 
     // Method to store Metadata --> Properties List --> name-values.
-    static Bom addMetadataProperty(final String fileName, final String name, final String value) {
-        Bom bom = readFile(fileName);
+    static Bom addMetadataProperty(final Bom bom, final String name, final String value) {
         Metadata meta = getBomMetadata(bom);
         Property prop1 = new Property();
         prop1.setName(name);
@@ -496,8 +671,7 @@ public final class TemurinGenSBOM {
         return bom;
     }
 
-    static Bom addMetadataTools(final String fileName, final String toolName, final String version) {
-        Bom bom = readFile(fileName);
+    static Bom addMetadataTools(final Bom bom, final String toolName, final String version) {
         Metadata meta = getBomMetadata(bom);
 
         // Create Tool Component
@@ -527,8 +701,7 @@ public final class TemurinGenSBOM {
     }
 
     // Method to store Component --> name & single name-value pair.
-    static Bom addComponent(final String fileName, final String compName, final String version, final String description) {
-        Bom bom = readFile(fileName);
+    static Bom addComponent(final TemurinSBOMIndex index, final String compName, final String version, final String description) {
         Component comp = new Component();
         comp.setName(compName);
         comp.setVersion(version);
@@ -537,53 +710,70 @@ public final class TemurinGenSBOM {
         comp.setGroup("adoptium.net");
         comp.setAuthor("Eclipse Temurin");
         comp.setPublisher("Eclipse Temurin");
-        bom.addComponent(comp);
-        return bom;
+        index.addComponent(comp);
+        return index.getBom();
     }
 
-    static Bom addComponentHash(final String fileName, final String compName, final String hash) {
-        Bom bom = readFile(fileName);
-        List<Component> componentArrayList = bom.getComponents();
-        for (Component item : componentArrayList) {
-            if (item.getName().equals(compName)) {
-                    Hash hash1 = new Hash(Hash.Algorithm.SHA_256, hash);
-                    item.addHash(hash1);
-            }
+    static Bom addComponentHash(final TemurinSBOMIndex index, final String compName, final String hash) {
+        for (Component item : index.getComponents(compName)) {
+            Hash hash1 = new Hash(Hash.Algorithm.SHA_256, hash);
+            item.addHash(hash1);
         }
-        return bom;
+        return index.getBom();
     }
 
-    // Method to add Component --> Property --> name-value pairs.
-    static Bom addComponentProperty(final String fileName, final String compName, final String name, final String value) {
-        Bom bom = readFile(fileName);
-        List<Component> componentArrayList = bom.getComponents();
-        for (Component item : componentArrayList) {
-            if (item.getName().equals(compName)) {
-                    Property prop1 = new Property();
-                    prop1.setName(name);
-                    prop1.setValue(value);
-                    item.addProperty(prop1);
+    // Method to digest files and add the results as Component --> hashes.
+    // Each hashFile is "<compName>=<file>", algorithms a comma separated list of specs (default SHA-256).
+    static Bom addComponentHashes(final TemurinSBOMIndex index, final List<String> hashFiles, final String algorithms) throws Exception {
+        List<String> specs = new LinkedList<>();
+        for (String spec : (algorithms == null ? "SHA-256" : algorithms).split(",")) {
+            Hash.Algorithm.fromSpec(spec.trim()); // IllegalArgumentException if CycloneDX has no such algorithm
+            specs.add(spec.trim());
+        }
+        List<String> compNames = new LinkedList<>();
+        List<Path> files = new ArrayList<>();
+        for (String entry : hashFiles) {
+            int sep = entry.indexOf('=');
+            if (sep <= 0 || sep == entry.length() - 1) {
+                throw new IllegalArgumentException("--hashFile expects <compName>=<file>, not: " + entry);
             }
+            compNames.add(entry.substring(0, sep));
+            files.add(Paths.get(entry.substring(sep + 1)));
         }
-        return bom;
-    }
 
-    static Bom addFormulation(final String fileName, final String name) {
-        Bom bom = readFile(fileName);
-        List<Formula> formulation = bom.getFormulation();
-        if (formulation == null) {
-            formulation = new LinkedList<Formula>();
-            bom.setFormulation(formulation);
+        Map<Path, Map<String, String>> digests = TemurinFileDigester.digest(new ArrayList<>(new LinkedHashSet<>(files)), specs);
+        for (int i = 0; i < files.size(); i++) {
+            Map<String, String> fileDigests = digests.get(files.get(i));
+            for (Component item : index.getComponents(compNames.get(i))) {
+                for (String spec : specs) {
+                    item.addHash(new Hash(Hash.Algorithm.fromSpec(spec), fileDigests.get(spec)));
+                }
+            }
         }
+        return index.getBom();
+    }
+
+    // Method to add Component --> Property --> name-value pairs.
+    static Bom addComponentProperty(final TemurinSBOMIndex index, final String compName, final String name, final String value) {
+        for (Component item : index.getComponents(compName)) {
+            Property prop1 = new Property();
+            prop1.setName(name);
+            prop1.setValue(value);
+            item.addProperty(prop1);
+        }
+        return index.getBom();
+    }
+
+    static Bom addFormulation(final TemurinSBOMIndex index, final String name) {
         Formula formula = new Formula();
         formula.setBomRef(name);
-        formulation.add(formula);
+        index.addFormula(formula);
 
-        return bom;
+        return index.getBom();
     }
 
-   static Bom addFormulationComp(final String fileName, final String formulaName, final String name, final String type) {
-        Bom bom = readFile(fileName);
+   static Bom addFormulationComp(final TemurinSBOMIndex index, final String formulaName, final String name, final String type) {
+        Bom bom = index.getBom();
         if (formulaName == null) {
            System.out.println("addFormulationComp: formulaName is null");
            return bom;
@@ -591,123 +781,51 @@ public final class TemurinGenSBOM {
            System.out.println("addFormulationComp: name is null");
            return bom;
         }
-        List<Formula> formulation = bom.getFormulation();
         // Look for the formula, and add the new component to it
-        boolean found = false;
-        for (Formula item : formulation) {
-          if (item.getBomRef().equals(formulaName)) {
-            found = true;
+        List<Formula> formulas = index.getFormulas(formulaName);
+        for (Formula item : formulas) {
             Component comp = new Component();
-            Component.Type compType = Component.Type.FRAMEWORK;
             comp.setType(Component.Type.FRAMEWORK);
             comp.setName(name);
-            List<Component> components = item.getComponents();
-            if (components == null) {
-              components = new LinkedList<Component>();
-            }
-            components.add(comp);
-            item.setComponents(components);
-          }
+            index.addFormulaComponent(item, comp);
         }
-        if (!found) {
+        if (formulas.isEmpty()) {
           System.out.println("addFormulationComp could not add component as it couldn't find an entry for formula " + formulaName);
         }
         return bom;
     }
 
-    static Bom addFormulationCompProp(final String fileName, final String formulaName, final String componentName, final String name, final String value) {
-        Bom bom = readFile(fileName);
-        boolean foundFormula = false;
+    static Bom addFormulationCompProp(final TemurinSBOMIndex index, final String formulaName, final String componentName, final String name, final String value) {
         boolean foundComponent = false;
-        List<Formula> formulation = bom.getFormulation();
-        // Look for the formula, and add the new component to it
-        for (Formula item : formulation) {
-          if (item.getBomRef().equals(formulaName)) {
-            foundFormula = true;
-            // Search for the component in the formula and add new component to it
-            List<Component> components = item.getComponents();
-            if (components == null) {
+        List<Formula> formulas = index.getFormulas(formulaName);
+        // Look for the formula, and add the new property to its component
+        for (Formula item : formulas) {
+            if (item.getComponents() == null) {
               System.out.println("addFormulationCompProp: Components is null - has addFormulationComp been called?");
-            } else {
-              for (Component comp : components) {
-                if (comp.getName().equals(componentName)) {
-                  foundComponent = true;
-                  Property prop1 = new Property();
-                  prop1.setName(name);
-                  prop1.setValue(value);
-                  comp.addProperty(prop1);
-                  item.setComponents(components);
-                }
-              }
             }
-          }
+            for (Component comp : index.getFormulaComponents(item, componentName)) {
+              foundComponent = true;
+              Property prop1 = new Property();
+              prop1.setName(name);
+              prop1.setValue(value);
+              comp.addProperty(prop1);
+            }
         }
-        if (!foundFormula) {
+        if (formulas.isEmpty()) {
           System.out.println("addFormulationCompProp could not add add property as it couldn't find an entry for formula " + formulaName);
         } else if (!foundComponent) {
           System.out.println("addFormulationCompProp could not add add property as it couldn't find an entry for component " + componentName);
         }
-        return bom;
+        return index.getBom();
     }
 
-    private static Formula getOrCreateFormula(final Bom bom, final String formulaRef) {
-        List<Formula> formulas = bom.getFormulation();
-        if (formulas == null) {
-            formulas = new LinkedList<>();
-            bom.setFormulation(formulas);
-        }
-        for (Formula f : formulas) {
-            if (formulaRef != null && formulaRef.equals(f.getBomRef())) {
-                return f;
-            }
-        }
-        Formula f = new Formula();
-        f.setBomRef(formulaRef);
-        formulas.add(f);
-        return f;
-    }
-
-    private static Workflow getOrCreateWorkflow(final Formula f, final String workflowRef) {
-        List<Workflow> wfs = f.getWorkflows();
-        if (wfs == null) {
-            wfs = new LinkedList<>();
-            f.setWorkflows(wfs);
-        }
-        for (Workflow w : wfs) {
-            if (workflowRef != null && workflowRef.equals(w.getBomRef())) {
-                return w;
-            }
-        }
-        Workflow w = new Workflow();
-        w.setBomRef(workflowRef);
-        wfs.add(w);
-        return w;
-    }
-
-    private static Step findStepByName(final Workflow wf, final String stepName) {
-        List<Step> steps = wf.getSteps();
-        if (steps == null) {
-            return null;
-        }
-        if (stepName != null) {
-            for (Step s : steps) {
-                if (stepName.equals(s.getName())) {
-                    return s;
-                }
-            }
-        }
-        return null;
-    }
-
-    static Bom addFormulaProperty(final String fileName, final String formulaRef, final String propName, final String propValue) {
+    static Bom addFormulaProperty(final Bom bom, final String formulaRef, final String propName, final String propValue) {
 
         System.out.println("addFormlaProp is deactivated, property \"" + propName + "\" not created.");
 
-        Bom bom = readFile(fileName);
         return bom;
 
         /*
-        Bom bom = readFile(fileName);
         Formula f = getOrCreateFormula(bom, formulaRef);
 
         Property p = new Property();
@@ -768,10 +886,9 @@ public final class TemurinGenSBOM {
         return out;
     }
 
-    static Bom addWorkflow(final String fileName, final String formulaRef, final String workflowRef, final String uid, final String wfName, final String rawTaskTypes) {
-        Bom bom = readFile(fileName);
-        Formula f = getOrCreateFormula(bom, formulaRef);
-        Workflow wf = getOrCreateWorkflow(f, workflowRef);
+    static Bom addWorkflow(final TemurinSBOMIndex index, final String formulaRef, final String workflowRef, final String uid, final String wfName, final String rawTaskTypes) {
+        Formula f = index.getOrCreateFormula(formulaRef);
+        Workflow wf = index.getOrCreateWorkflow(f, workflowRef);
 
         if (uid != null) {
             wf.setUid(uid);
@@ -784,36 +901,28 @@ public final class TemurinGenSBOM {
         if (types != null && !types.isEmpty()) {
             wf.setTaskTypes(types);
         }
-        return bom;
+        return index.getBom();
     }
 
-    static Bom addWorkflowStep(final String fileName, final String formulaRef, final String workflowRef, final String stepName, final String stepDesc) {
-        Bom bom = readFile(fileName);
-        Formula f = getOrCreateFormula(bom, formulaRef);
-        Workflow wf = getOrCreateWorkflow(f, workflowRef);
+    static Bom addWorkflowStep(final TemurinSBOMIndex index, final String formulaRef, final String workflowRef, final String stepName, final String stepDesc) {
+        Formula f = index.getOrCreateFormula(formulaRef);
+        Workflow wf = index.getOrCreateWorkflow(f, workflowRef);
 
-        List<Step> steps = wf.getSteps();
-        if (steps == null) {
-            steps = new LinkedList<>();
-        }
-
-        Step s = findStepByName(wf, stepName);
+        Step s = index.findStep(wf, stepName);
         if (s == null) {
             s = new Step();
             s.setName(stepName);
             s.setDescription(stepDesc);
-            steps.add(s);
+            index.addStep(wf, s);
         }
-        wf.setSteps(steps);
-        return bom;
+        return index.getBom();
     }
 
-    static Bom addWorkflowStepCmd(final String fileName, final String formulaRef, final String workflowRef, final String stepName, final String cmdExecuted) {
-        Bom bom = readFile(fileName);
-        Formula f = getOrCreateFormula(bom, formulaRef);
-        Workflow wf = getOrCreateWorkflow(f, workflowRef);
+    static Bom addWorkflowStepCmd(final TemurinSBOMIndex index, final String formulaRef, final String workflowRef, final String stepName, final String cmdExecuted) {
+        Formula f = index.getOrCreateFormula(formulaRef);
+        Workflow wf = index.getOrCreateWorkflow(f, workflowRef);
 
-        Step target = findStepByName(wf, stepName);
+        Step target = index.findStep(wf, stepName);
         if (target == null) {
             throw new IllegalArgumentException("Step not found. (name): " + stepName);
         }
@@ -827,7 +936,7 @@ public final class TemurinGenSBOM {
         cmds.add(c);
         target.setCommands(cmds);
 
-        return bom;
+        return index.getBom();
     }
 
     static String generateBomJson(final Bom bom) throws GeneratorException {
@@ -843,50 +952,67 @@ public final class TemurinGenSBOM {
         return xml;
     }
 
-    // Writes the BOM object to the specified type of file
-    static void writeFile(final Bom bom, final String fileName) {
-        if (useJson) {
-            writeJSONfile(bom, fileName);
+    // Writes the BOM object to the specified type of file, leaving error handling to the caller.
+    // With --alsoXmlFile (JSON) or --alsoJsonFile (XML) the other format is written at the same time.
+    static void saveFile(final Bom bom, final String fileName) throws IOException {
+        if (useJson && alsoXmlFile != null) {
+            TemurinBomWriter.writeJsonAndXml(bom, Version.VERSION_16, fileName, alsoXmlFile);
+        } else if (!useJson && alsoJsonFile != null) {
+            TemurinBomWriter.writeJsonAndXml(bom, Version.VERSION_16, alsoJsonFile, fileName);
+        } else if (useJson) {
+            TemurinBomWriter.writeJson(bom, Version.VERSION_16, fileName);
         } else {
-            writeXMLfile(bom, fileName);
+            TemurinBomWriter.writeXml(bom, Version.VERSION_16, fileName);
+        }
+        updateSnapshot(bom, fileName);
+    }
+
+    // Refreshes the binary snapshot (--snapshot, JSON only) of the file just written
+    private static void updateSnapshot(final Bom bom, final String fileName) {
+        if (useSnapshot && useJson) {
+            TemurinSBOMSnapshot.update(fileName, bom, Version.VERSION_16);
         }
     }
 
-    // Read the BOM object from the specified type of file
+    // Read the BOM object from the specified type of file, from its binary snapshot if it is current (--snapshot, JSON only)
     static Bom readFile(final String fileName) {
-        Bom bom;
-        if (useJson) {
-            bom = readJSONfile(fileName);
-        } else {
-            bom = readXMLfile(fileName);
+        TemurinMetrics.Phase parse = TemurinMetrics.phase("parse");
+        try {
+            if (useSnapshot && useJson) {
+                Bom snapshot = TemurinSBOMSnapshot.read(fileName);
+                if (snapshot != null) {
+                    if (verbose) {
+                        System.out.println("Loaded " + fileName + " from snapshot");
+                    }
+                    return snapshot;
+                }
+            }
+            Bom bom;
+            if (useJson) {
+                bom = readJSONfile(fileName);
+            } else {
+                bom = readXMLfile(fileName);
+            }
+            return bom;
+        } finally {
+            parse.end();
         }
-        return bom;
     }
 
-    // Writes the BOM object to the specified file.
+    // Streams the BOM object to the specified file, replacing it atomically.
     static void writeJSONfile(final Bom bom, final String fileName) {
-        FileWriter file;
         try {
-            String json = generateBomJson(bom);
-
-            file = new FileWriter(fileName);
-            file.write(json);
-            file.close();
+            TemurinBomWriter.writeJson(bom, Version.VERSION_16, fileName);
         } catch (Exception e) {
             e.printStackTrace();
             System.exit(1);
         }
     }
 
-    // Writes the BOM object to the specified XML file.
+    // Streams the BOM object to the specified XML file, replacing it atomically.
     static void writeXMLfile(final Bom bom, final String fileName) {
-        FileWriter file;
         try {
-            String xml = generateBomXml(bom);
-
-            file = new FileWriter(fileName);
-            file.write(xml);
-            file.close();
+            TemurinBomWriter.writeXml(bom, Version.VERSION_16, fileName);
         } catch (Exception e) {
             e.printStackTrace();
             System.exit(1);
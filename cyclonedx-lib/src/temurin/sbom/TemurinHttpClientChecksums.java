@@ -0,0 +1,75 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Checksum provider querying the Adoptium API through one shared java.net.http.HttpClient,
+ * which pools its connections, so concurrent lookups of a batch reuse them rather than
+ * connecting once per query. Needs JDK 11; TemurinGenCDXA loads it by name when it is
+ * available and otherwise uses TemurinAdoptiumChecksums.
+ */
+final class TemurinHttpClientChecksums implements TemurinChecksumProvider {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final TemurinAdoptiumChecksums api;
+    private final HttpClient client;
+
+    TemurinHttpClientChecksums(final String baseUrlParam) {
+        this.api = new TemurinAdoptiumChecksums(baseUrlParam);
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
+    @Override
+    public String checksum(final String version, final String os, final String arch) throws IOException {
+        String apiUrl = api.url(version, os, arch);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl))
+            .header("User-Agent", "TemurinGenCDXA/1.0")
+            .timeout(TIMEOUT)
+            .GET()
+            .build();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted querying " + apiUrl, e);
+        } catch (IOException e) {
+            // HttpClient connection failures often carry no message of their own
+            throw new IOException(e + " for URL: " + apiUrl, e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Adoptium API returned status code " + response.statusCode() + " for URL: " + apiUrl);
+        }
+        // Response format is: "hash  filename"
+        return TemurinChecksumProvider.parse(response.body());
+    }
+
+    @Override
+    public String toString() {
+        return api.toString();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records TemurinMetrics phases as temurin.sbom.Phase JFR events, e.g. with
+ * -XX:StartFlightRecording. Needs jdk.jfr; TemurinMetrics loads it by name when it is
+ * available and otherwise records no events.
+ */
+final class TemurinJfrEvents implements TemurinMetrics.Events {
+
+    /**
+     * A phase of a cyclonedx-lib tool.
+     */
+    @Name("temurin.sbom.Phase")
+    @Label("Temurin SBOM Phase")
+    @Category({"Temurin", "SBOM"})
+    @Description("A phase of TemurinGenSBOM, TemurinSignSBOM or TemurinGenCDXA, e.g. parse, mutate or write")
+    static final class PhaseEvent extends Event {
+        @Label("Tool")
+        private String tool;
+
+        @Label("Phase")
+        private String phase;
+    }
+
+    @Override
+    public Runnable begin(final String toolName, final String phaseName) {
+        PhaseEvent event = new PhaseEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.tool = toolName;
+        event.phase = phaseName;
+        event.begin();
+        return event::commit;
+    }
+}
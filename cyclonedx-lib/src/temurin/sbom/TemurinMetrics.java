@@ -0,0 +1,270 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing and counters of a run of TemurinGenSBOM, TemurinSignSBOM or TemurinGenCDXA.
+ *
+ * Phases, e.g. parse, mutate, write, sign or remoteLookup, are timed from
+ * {@code TemurinMetrics.phase("parse")} to {@code end()} in a finally block, and are also
+ * recorded as temurin.sbom.Phase JFR events while a flight recording is active. With the
+ * temurin.sbom.metrics system property or the TEMURIN_SBOM_METRICS environment variable
+ * set to a file, one JSON line per run, with the time from JVM start to main, the total
+ * and per phase times and the counters, is appended to it when the JVM exits; set to "-"
+ * the line is printed to stderr.
+ */
+final class TemurinMetrics {
+
+    static final String PROPERTY = "temurin.sbom.metrics";
+    static final String ENVIRONMENT = "TEMURIN_SBOM_METRICS";
+
+    // Where the JSON line goes, null when the metrics are off
+    private static final String TARGET = target();
+
+    private static final ConcurrentMap<String, LongAdder> PHASE_NANOS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LongAdder> PHASE_COUNTS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private static volatile String tool = "";
+    private static volatile String command = "";
+    private static volatile long startNanos;
+    private static volatile long jvmStartToMainMillis;
+
+    private TemurinMetrics() {
+    }
+
+    /**
+     * Begins and ends the JFR event of a phase.
+     */
+    interface Events {
+        /**
+         * Begins the event.
+         * @param toolName The tool.
+         * @param phaseName The phase.
+         * @return What ends and commits the event, or null if the event is not recorded.
+         */
+        Runnable begin(String toolName, String phaseName);
+    }
+
+    /**
+     * A timed phase, ended by end().
+     */
+    static final class Phase {
+        private final String name;
+        private final Runnable event;
+        private final long start;
+
+        private Phase(final String nameParam) {
+            this.name = nameParam;
+            Events events = Jfr.events();
+            this.event = events != null ? events.begin(tool, nameParam) : null;
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * Ends the phase.
+         */
+        void end() {
+            long nanos = System.nanoTime() - start;
+            if (event != null) {
+                event.run();
+            }
+            if (TARGET != null) {
+                PHASE_NANOS.computeIfAbsent(name, k -> new LongAdder()).add(nanos);
+                PHASE_COUNTS.computeIfAbsent(name, k -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    /**
+     * Starts the metrics of a run: records the time from JVM start to main and, when the
+     * metrics are on, reports them as the JVM exits, however main ends.
+     * @param toolName The tool, e.g. TemurinGenSBOM.
+     * @param commandName The command run, e.g. addComponent.
+     */
+    static void start(final String toolName, final String commandName) {
+        tool = toolName;
+        command = commandName;
+        startNanos = System.nanoTime();
+        if (TARGET == null) {
+            return;
+        }
+        jvmStartToMainMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        Runtime.getRuntime().addShutdownHook(new Thread(TemurinMetrics::report, "TemurinMetrics"));
+    }
+
+    /**
+     * Whether the metrics are reported, for counters that take work to compute.
+     * @return true if the metrics are on.
+     */
+    static boolean enabled() {
+        return TARGET != null;
+    }
+
+    /**
+     * Begins a phase.
+     * @param name The phase, e.g. parse.
+     * @return The phase, to end when it ends.
+     */
+    static Phase phase(final String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Adds to a counter.
+     * @param name The counter, e.g. bytesWritten.
+     * @param delta The amount to add.
+     */
+    static void count(final String name, final long delta) {
+        if (TARGET != null) {
+            COUNTERS.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * The metrics so far as one line of JSON.
+     * @return The JSON.
+     */
+    static String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"tool\":\"").append(escape(tool)).append("\",");
+        json.append("\"command\":\"").append(escape(command)).append("\",");
+        json.append("\"time\":\"").append(Instant.now()).append("\",");
+        json.append("\"jvmStartToMainMs\":").append(jvmStartToMainMillis).append(',');
+        json.append("\"totalMs\":").append(millis(System.nanoTime() - startNanos)).append(',');
+        json.append("\"phases\":{");
+        String separator = "";
+        for (Map.Entry<String, LongAdder> phase : new TreeMap<>(PHASE_NANOS).entrySet()) {
+            json.append(separator).append('"').append(escape(phase.getKey())).append("\":{\"count\":")
+                .append(PHASE_COUNTS.get(phase.getKey()).sum()).append(",\"ms\":").append(millis(phase.getValue().sum())).append('}');
+            separator = ",";
+        }
+        json.append("},\"counters\":{");
+        separator = "";
+        for (Map.Entry<String, LongAdder> counter : new TreeMap<>(COUNTERS).entrySet()) {
+            json.append(separator).append('"').append(escape(counter.getKey())).append("\":").append(counter.getValue().sum());
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    // Appends the JSON line to the metrics file, or prints it to stderr for "-"
+    private static void report() {
+        String line = toJson();
+        if (TARGET.equals("-")) {
+            System.err.println(line);
+            return;
+        }
+        try {
+            Path file = Paths.get(TARGET);
+            Path dir = file.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            // One write of the whole line, so lines of concurrent runs do not interleave
+            Files.write(file, (line + "\n").getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            System.err.println("WARNING: Could not write metrics to " + TARGET + ": " + e);
+        }
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static String escape(final String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String target() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(ENVIRONMENT);
+        }
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * The JFR events of the phases. TemurinJfrEvents, and with it the JFR event classes, is
+     * only loaded once jdk.jfr.FlightRecorder reports a recorder, e.g. started with
+     * -XX:StartFlightRecording, so runs without a recording do not load them.
+     */
+    private static final class Jfr {
+        // FlightRecorder.isInitialized(), null without jdk.jfr
+        private static final Method INITIALIZED = initialized();
+
+        private static volatile Events events;
+
+        static Events events() {
+            if (events == null && INITIALIZED != null && recording()) {
+                events = load();
+            }
+            return events;
+        }
+
+        private static Method initialized() {
+            try {
+                return Class.forName("jdk.jfr.FlightRecorder").getMethod("isInitialized");
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+
+        private static boolean recording() {
+            try {
+                return (Boolean) INITIALIZED.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return false;
+            }
+        }
+
+        // TemurinJfrEvents is only built where jdk.jfr is available, without it phases have no events
+        private static Events load() {
+            try {
+                return (Events) Class.forName("temurin.sbom.TemurinJfrEvents").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Package resolver answering from an index of every file of every installed package.
+ *
+ * The index is built by reading the package database directly: the dpkg info/*.list files
+ * and status file, one "rpm -qa" dump of all file names, or the apk installed database.
+ * It can be persisted to a cache file, which is reused as long as the modification time of
+ * the package database is unchanged, so a build only pays for the lookups in a hash map.
+ */
+final class TemurinPackageIndex implements TemurinPackageResolver {
+
+    private static final int MAGIC = 0x54504b49; // "TPKI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Path DPKG_INFO = Paths.get("/var/lib/dpkg/info");
+    private static final Path DPKG_STATUS = Paths.get("/var/lib/dpkg/status");
+    private static final Path RPM_DB = Paths.get("/var/lib/rpm");
+    private static final Path APK_INSTALLED = Paths.get("/lib/apk/db/installed");
+
+    private final Map<String, Owner> owners;
+
+    private TemurinPackageIndex(final Map<String, Owner> ownersParam) {
+        this.owners = ownersParam;
+    }
+
+    @Override
+    public Map<String, Owner> owners(final Collection<String> files) {
+        Map<String, Owner> found = new HashMap<>();
+        for (String file : files) {
+            Owner owner = owners.get(file);
+            if (owner != null) {
+                found.put(file, owner);
+            }
+        }
+        return found;
+    }
+
+    int size() {
+        return owners.size();
+    }
+
+    /**
+     * Index of the package manager of this system, loaded from the cache file if it is
+     * still current, otherwise built from the package database and saved to the cache file.
+     * @param cacheFile The cache file, or null to only keep the index in memory.
+     * @return The index.
+     * @throws IOException If the package database cannot be read.
+     */
+    static TemurinPackageIndex forSystem(final Path cacheFile) throws IOException {
+        TemurinCommandPackageResolver.Tool tool = TemurinCommandPackageResolver.systemTool();
+        long stamp = databaseStamp(tool);
+        if (cacheFile != null) {
+            TemurinPackageIndex cached = load(cacheFile, tool, stamp);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        TemurinPackageIndex index = new TemurinPackageIndex(build(tool));
+        if (cacheFile != null) {
+            try {
+                index.save(cacheFile, tool, stamp);
+            } catch (IOException e) {
+                System.out.println("WARNING: Unable to save package index " + cacheFile + ": " + e);
+            }
+        }
+        return index;
+    }
+
+    private static Map<String, Owner> build(final TemurinCommandPackageResolver.Tool tool) throws IOException {
+        switch (tool) {
+            case DPKG:
+                return buildDpkg();
+            case APK:
+                return buildApk();
+            default:
+                return buildRpm();
+        }
+    }
+
+    // Latest modification of the package database, any package (un)install changes it
+    private static long databaseStamp(final TemurinCommandPackageResolver.Tool tool) throws IOException {
+        switch (tool) {
+            case DPKG:
+                return Math.max(Files.getLastModifiedTime(DPKG_STATUS).toMillis(), Files.getLastModifiedTime(DPKG_INFO).toMillis());
+            case APK:
+                return Files.getLastModifiedTime(APK_INSTALLED).toMillis();
+            default:
+                long stamp = 0;
+                try (Stream<Path> db = Files.list(RPM_DB.toRealPath())) {
+                    for (Path file : (Iterable<Path>) db::iterator) {
+                        stamp = Math.max(stamp, Files.getLastModifiedTime(file).toMillis());
+                    }
+                }
+                return stamp;
+        }
+    }
+
+    // <pkg>[:<arch>].list holds the files of each package, the versions are in the status file
+    private static Map<String, Owner> buildDpkg() throws IOException {
+        Map<String, String> versions = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(DPKG_STATUS, StandardCharsets.UTF_8)) {
+            String name = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("Package: ")) {
+                    name = line.substring("Package: ".length()).trim();
+                } else if (line.startsWith("Version: ") && name != null && !versions.containsKey(name)) {
+                    versions.put(name, line.substring("Version: ".length()).trim());
+                }
+            }
+        }
+
+        List<Path> lists = new ArrayList<>();
+        try (Stream<Path> info = Files.list(DPKG_INFO)) {
+            info.filter(p -> p.getFileName().toString().endsWith(".list")).sorted().forEach(lists::add);
+        }
+        Map<String, Owner> index = new HashMap<>();
+        for (Path list : lists) {
+            String pkg = list.getFileName().toString();
+            String name = pkg.substring(0, pkg.length() - ".list".length()).split(":")[0];
+            Owner owner = new Owner(name, versions.getOrDefault(name, ""));
+            try (BufferedReader reader = Files.newBufferedReader(list, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    index.putIfAbsent(line, owner);
+                }
+            }
+        }
+        return index;
+    }
+
+    // One line per file of every package: "<file>\t<NVRA>"
+    private static Map<String, Owner> buildRpm() throws IOException {
+        Map<String, Owner> pkgs = new HashMap<>();
+        Map<String, Owner> index = new HashMap<>();
+        for (String line : TemurinCommandPackageResolver.run(Arrays.asList("rpm", "-qa", "--qf", "[%{FILENAMES}\\t%{NVRA}\\n]"))) {
+            int sep = line.lastIndexOf('\t');
+            if (sep > 0) {
+                String pkg = line.substring(sep + 1);
+                index.putIfAbsent(line.substring(0, sep), pkgs.computeIfAbsent(pkg, p -> new Owner(p, p)));
+            }
+        }
+        if (index.isEmpty()) {
+            throw new IOException("No files found in the rpm database");
+        }
+        return index;
+    }
+
+    // Blocks per package of "P:name", "V:version", "F:dir" and "R:file" (within the last dir) lines
+    private static Map<String, Owner> buildApk() throws IOException {
+        Map<String, Owner> index = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(APK_INSTALLED, StandardCharsets.UTF_8)) {
+            String name = null;
+            Owner owner = null;
+            String dir = "";
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    name = null;
+                    owner = null;
+                } else if (line.startsWith("P:")) {
+                    name = line.substring(2);
+                } else if (line.startsWith("V:") && name != null) {
+                    // As reported by "apk info --who-owns"
+                    owner = new Owner(name + "-" + line.substring(2), name + "-" + line.substring(2));
+                } else if (line.startsWith("F:")) {
+                    dir = line.substring(2);
+                } else if (line.startsWith("R:") && owner != null) {
+                    index.putIfAbsent("/" + dir + "/" + line.substring(2), owner);
+                }
+            }
+        }
+        return index;
+    }
+
+    // The cached index if it was built from the same package database, otherwise null
+    private static TemurinPackageIndex load(final Path cacheFile, final TemurinCommandPackageResolver.Tool tool, final long stamp) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                || !in.readUTF().equals(tool.name()) || in.readLong() != stamp) {
+                return null;
+            }
+            Owner[] pkgs = new Owner[in.readInt()];
+            for (int i = 0; i < pkgs.length; i++) {
+                pkgs[i] = new Owner(in.readUTF(), in.readUTF());
+            }
+            int entries = in.readInt();
+            Map<String, Owner> index = new HashMap<>(entries * 4 / 3 + 1);
+            for (int i = 0; i < entries; i++) {
+                String file = in.readUTF();
+                index.put(file, pkgs[in.readInt()]);
+            }
+            return new TemurinPackageIndex(index);
+        } catch (IOException | RuntimeException e) {
+            // Unreadable or truncated, rebuilt from the package database
+            return null;
+        }
+    }
+
+    // Writes the packages once each, then every file with the number of its package
+    private void save(final Path cacheFile, final TemurinCommandPackageResolver.Tool tool, final long stamp) throws IOException {
+        Map<Owner, Integer> ids = new IdentityHashMap<>();
+        List<Owner> pkgs = new ArrayList<>();
+        for (Owner owner : owners.values()) {
+            if (!ids.containsKey(owner)) {
+                ids.put(owner, pkgs.size());
+                pkgs.add(owner);
+            }
+        }
+        Path dir = cacheFile.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        TemurinBomWriter.writeStream(cacheFile, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeInt(FORMAT_VERSION);
+            data.writeUTF(tool.name());
+            data.writeLong(stamp);
+            data.writeInt(pkgs.size());
+            for (Owner owner : pkgs) {
+                data.writeUTF(owner.getName());
+                data.writeUTF(owner.getVersion());
+            }
+            data.writeInt(owners.size());
+            for (Map.Entry<String, Owner> entry : owners.entrySet()) {
+                data.writeUTF(entry.getKey());
+                data.writeInt(ids.get(entry.getValue()));
+            }
+            data.flush();
+        });
+    }
+}
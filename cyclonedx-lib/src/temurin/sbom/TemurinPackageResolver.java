@@ -0,0 +1,94 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds the OS packages owning files, for the build dependencies in the SBOM.
+ *
+ * Implementations are queried with all files at once, so they can batch their lookups.
+ */
+interface TemurinPackageResolver {
+
+    /**
+     * Looks up the owning package of each file.
+     * @param files Absolute paths of existing regular files.
+     * @return The owning package per file; files not owned by any package are left out.
+     * @throws IOException If the package database cannot be queried.
+     */
+    Map<String, Owner> owners(Collection<String> files) throws IOException;
+
+    /**
+     * An owning package, as recorded in the SBOM.
+     */
+    final class Owner {
+        private final String name;
+        private final String version;
+
+        Owner(final String nameParam, final String versionParam) {
+            this.name = nameParam;
+            this.version = versionParam;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getVersion() {
+            return version;
+        }
+    }
+
+    /**
+     * Resolver with fixed owners, read from lines of "file=name version" (the version
+     * defaults to the name). Stands in for the package manager in tests.
+     * @param ownersFile The owners file.
+     * @return The resolver.
+     * @throws IOException If the file cannot be read.
+     */
+    static TemurinPackageResolver fromFile(final Path ownersFile) throws IOException {
+        Map<String, Owner> known = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(ownersFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int sep = line.indexOf('=');
+                if (line.startsWith("#") || sep <= 0) {
+                    continue;
+                }
+                String[] pkg = line.substring(sep + 1).trim().split("\\s+", 2);
+                known.put(line.substring(0, sep).trim(), new Owner(pkg[0], pkg.length > 1 ? pkg[1] : pkg[0]));
+            }
+        }
+        return files -> {
+            Map<String, Owner> found = new HashMap<>();
+            for (String file : files) {
+                Owner owner = known.get(file);
+                if (owner != null) {
+                    found.put(file, owner);
+                }
+            }
+            return found;
+        };
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a task for each of a list of items, e.g. files, on a fixed pool of threads, as the
+ * bulk modes of the SBOM, signing and CDXA tools do.
+ */
+final class TemurinParallel {
+
+    private TemurinParallel() {
+    }
+
+    /**
+     * A task run for one item.
+     * @param <I> The item type.
+     * @param <T> The result type.
+     */
+    interface Task<I, T> {
+        T apply(I item) throws Exception;
+    }
+
+    /**
+     * Runs the task for each item on a pool of up to threads threads, one per item at most.
+     * @param items The items.
+     * @param threads The maximum number of tasks run at once, at least 1.
+     * @param what What the tasks do, for the error messages, e.g. "reading SBOMs".
+     * @param task The task.
+     * @param <I> The item type.
+     * @param <T> The result type.
+     * @return The result of each item, in the order given.
+     * @throws IOException If interrupted, or the IOException of the first failed task in
+     *         item order, or another exception of that task as its cause.
+     */
+    static <I, T> List<T> map(final List<I> items, final int threads, final String what, final Task<I, T> task) throws IOException {
+        List<T> results = new ArrayList<>();
+        if (items.isEmpty()) {
+            return results;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(items.size(), threads));
+        try {
+            List<Future<T>> pending = new ArrayList<>();
+            for (I item : items) {
+                pending.add(pool.submit(() -> task.apply(item)));
+            }
+            for (Future<T> result : pending) {
+                results.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted " + what, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed " + what, e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+}
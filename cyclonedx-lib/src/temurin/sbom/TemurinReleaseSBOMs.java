@@ -0,0 +1,89 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The release SBOMs of a directory, and the JSON report of a check of each of them, as
+ * shared by TemurinSBOMBulkValidator, TemurinSBOMMerge and TemurinSignSBOM.
+ */
+final class TemurinReleaseSBOMs {
+
+    private TemurinReleaseSBOMs() {
+    }
+
+    /**
+     * The outcome of checking one SBOM.
+     */
+    interface Outcome {
+        boolean passed();
+
+        Map<String, Object> toJson();
+    }
+
+    /**
+     * The release SBOMs in a directory, as listed by release_download_test.sh verify_sboms.
+     * @param dir The directory.
+     * @return The SBOM files, sorted.
+     * @throws IOException If the directory cannot be listed.
+     */
+    static List<Path> list(final Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "OpenJDK*-sbom*json")) {
+            for (Path file : stream) {
+                if (!file.getFileName().toString().contains("metadata")) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * The report of a check of each SBOM: the overall result, the counts and each outcome.
+     * @param outcomes The outcome of each SBOM.
+     * @param passedName The name of the count of SBOMs that passed, e.g. "passed" or "valid".
+     * @param failedName The name of the count of SBOMs that failed.
+     * @return The report, to be written as JSON.
+     */
+    static Map<String, Object> report(final List<? extends Outcome> outcomes, final String passedName, final String failedName) {
+        List<Object> sboms = new ArrayList<>();
+        int passed = 0;
+        for (Outcome outcome : outcomes) {
+            sboms.add(outcome.toJson());
+            if (outcome.passed()) {
+                passed++;
+            }
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("result", passed == outcomes.size() ? "PASS" : "FAIL");
+        json.put("total", outcomes.size());
+        json.put(passedName, passed);
+        json.put(failedName, outcomes.size() - passed);
+        json.put("sboms", sboms);
+        return json;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.ValidationMessage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.cyclonedx.CycloneDxSchema;
+import org.cyclonedx.Version;
+import org.cyclonedx.parsers.JsonParser;
+
+/**
+ * Validates all SBOMs of a release: CycloneDX schema validation plus the content rules
+ * of TemurinSBOMValidator, for each SBOM, as tooling/validateSBOM.sh does for one SBOM.
+ *
+ * The SBOMs are validated concurrently on a pool of --threads threads (default: the
+ * number of processors). Each SBOM is parsed once for both checks, and the schema of
+ * each CycloneDX spec version is loaded once and shared by all threads.
+ *
+ * TemurinSBOMBulkValidator (--sbomDir dir | --jsonFile file...) --majorVersion n [--scmRef ref]
+ *                          [--threads n] [--report file] [--factsDir dir]
+ *
+ * --sbomDir validates the OpenJDK*-sbom*.json files of the directory, except metadata files.
+ * --report writes the aggregated result as JSON.
+ * --factsDir writes the facts of each SBOM to dir/sbom.json.facts, as TemurinSBOMValidator
+ * --facts does, plus the EXPECTED_SCM_REF it was checked against. validateSBOMcontent.sh
+ * takes them as SBOM_FACTS_FILE for the checks that need the network: the OpenJDK source
+ * commit, the upstream FreeType version and the temurin-build SHA.
+ */
+public final class TemurinSBOMBulkValidator {
+
+    // The SCM ref a facts file was checked against, empty if the SCM_REF check was skipped
+    static final String EXPECTED_SCM_REF = "EXPECTED_SCM_REF";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Upstream tag structures, other tags are personal, dev or HEAD builds without a SCM_REF check
+    private static final String[] JDK8_TAGS = {
+        "jdk8u[0-9]+-b[0-9]+(-aarch32-[0-9]+)?(_adopt)?",
+        "jdk8u[0-9]+-(dryrun-)?ga(-aarch32-[0-9]+)?"
+    };
+    private static final String[] JDK_TAGS = {
+        "jdk-[0-9][0-9.+]*(_adopt|-dryrun-ga|-ga)?"
+    };
+
+    private final int majorVersion;
+    private final String scmRef;
+    private final Map<Version, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    TemurinSBOMBulkValidator(final int majorVersionParam, final String scmRefParam) {
+        this.majorVersion = majorVersionParam;
+        this.scmRef = upstreamTag(majorVersionParam, scmRefParam) ? scmRefParam : "";
+    }
+
+    /**
+     * Main entry.
+     * @param args Arguments for bulk sbom validation.
+     */
+    public static void main(final String[] args) {
+        String sbomDir = null;
+        List<Path> files = new ArrayList<>();
+        String majorVersion = null;
+        String scmRef = "";
+        int threads = Runtime.getRuntime().availableProcessors();
+        String reportFile = null;
+        String factsDir = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--sbomDir")) {
+                sbomDir = args[++i];
+            } else if (args[i].equals("--jsonFile")) {
+                files.add(Paths.get(args[++i]));
+            } else if (args[i].equals("--majorVersion")) {
+                majorVersion = args[++i];
+            } else if (args[i].equals("--scmRef")) {
+                scmRef = args[++i];
+            } else if (args[i].equals("--threads")) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--report")) {
+                reportFile = args[++i];
+            } else if (args[i].equals("--factsDir")) {
+                factsDir = args[++i];
+            }
+        }
+        if ((sbomDir == null && files.isEmpty()) || majorVersion == null || !majorVersion.matches("[1-9][0-9]*") || threads < 1) {
+            System.out.println("Usage: TemurinSBOMBulkValidator (--sbomDir dir | --jsonFile file...) --majorVersion n [--scmRef ref] [--threads n] [--report file] [--factsDir dir]");
+            System.exit(1);
+        }
+
+        try {
+            if (sbomDir != null) {
+                files.addAll(TemurinReleaseSBOMs.list(Paths.get(sbomDir)));
+            }
+            if (files.isEmpty()) {
+                System.out.println("ERROR: No SBOMs found in " + sbomDir);
+                System.exit(1);
+            }
+            TemurinSBOMBulkValidator validator = new TemurinSBOMBulkValidator(Integer.parseInt(majorVersion), scmRef);
+            if (validator.scmRef.isEmpty() && !scmRef.isEmpty()) {
+                System.out.println("WARNING: SCM ref " + scmRef + " does not use a valid upstream tag structure, SCM_REF checks will be skipped.");
+            }
+            List<Result> results = validator.validateAll(files, threads);
+            int failed = 0;
+            for (Result result : results) {
+                result.print();
+                if (!result.passed()) {
+                    failed++;
+                }
+            }
+            System.out.println("Validated " + results.size() + " SBOMs: " + (results.size() - failed) + " passed, " + failed + " failed.");
+            if (reportFile != null) {
+                MAPPER.writer(SerializationFeature.INDENT_OUTPUT).writeValue(new File(reportFile), TemurinReleaseSBOMs.report(results, "passed", "failed"));
+            }
+            if (factsDir != null) {
+                validator.writeFacts(Paths.get(factsDir), results);
+            }
+            if (failed > 0) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.out.println("ERROR: SBOM validation failed: " + e);
+            System.exit(1);
+        }
+    }
+
+    // Whether the tag is a release tag, as checked by validateSBOM.sh
+    static boolean upstreamTag(final int majorVersion, final String tag) {
+        for (String pattern : majorVersion == 8 ? JDK8_TAGS : JDK_TAGS) {
+            if (tag.matches(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // jdk8u aarch32 tags carry an arbitrary date, so a straight jdk8u tag is not checked against them
+    private String expectedScmRef(final String fileName) {
+        if (majorVersion == 8 && fileName.contains("_arm_linux_") && !scmRef.matches(".*aarch32-[0-9]{8}.*")) {
+            return "";
+        }
+        return scmRef;
+    }
+
+    /**
+     * Writes the facts of each SBOM that could be read to dir/sbom.json.facts.
+     * @param dir The facts directory, created if missing.
+     * @param results The results of validateAll.
+     * @throws IOException If a facts file cannot be written.
+     */
+    void writeFacts(final Path dir, final List<Result> results) throws IOException {
+        Files.createDirectories(dir);
+        for (Result result : results) {
+            if (result.report == null) {
+                continue;
+            }
+            Map<String, String> facts = new LinkedHashMap<>(result.report.getFacts());
+            String fileName = Paths.get(result.fileName).getFileName().toString();
+            facts.put(EXPECTED_SCM_REF, expectedScmRef(fileName));
+            TemurinSBOMValidator.writeFacts(dir.resolve(fileName + ".facts"), facts);
+        }
+    }
+
+    /**
+     * Validates the SBOMs concurrently.
+     * @param files The SBOM files.
+     * @param threads The maximum number of SBOMs validated at once.
+     * @return The result of each SBOM, in the order given.
+     * @throws IOException If the validation is interrupted or fails unexpectedly.
+     */
+    List<Result> validateAll(final List<Path> files, final int threads) throws IOException {
+        return TemurinParallel.map(files, threads, "validating SBOMs", this::validate);
+    }
+
+    /**
+     * Validates one SBOM against its CycloneDX schema and the content rules.
+     * An unreadable SBOM is reported as failed.
+     * @param file The SBOM file.
+     * @return The result.
+     */
+    Result validate(final Path file) {
+        String fileName = file.toString();
+        JsonNode sbom;
+        try {
+            sbom = MAPPER.readTree(file.toFile());
+        } catch (IOException e) {
+            return new Result(fileName, null, Collections.singletonList("Unable to read " + fileName + ": " + e), null);
+        }
+
+        String spec = sbom.path("specVersion").asText();
+        Version version = Version.fromVersionString(spec);
+        List<String> schemaErrors = new ArrayList<>();
+        if (version == null) {
+            schemaErrors.add("Unsupported CycloneDX specVersion '" + spec + "'");
+        } else {
+            try {
+                for (ValidationMessage message : schema(version).validate(sbom)) {
+                    schemaErrors.add(message.getMessage());
+                }
+            } catch (IOException e) {
+                schemaErrors.add("Unable to load CycloneDX " + spec + " schema: " + e);
+            }
+        }
+        TemurinSBOMValidator.Report report = TemurinSBOMValidator.validate(fileName, sbom, majorVersion, expectedScmRef(fileName));
+        return new Result(fileName, spec, schemaErrors, report);
+    }
+
+    // Loaded, with all its validators, once per spec version; JsonSchema is thread safe once initialized
+    private JsonSchema schema(final Version version) throws IOException {
+        JsonSchema schema = schemas.get(version);
+        if (schema == null) {
+            synchronized (schemas) {
+                schema = schemas.get(version);
+                if (schema == null) {
+                    CycloneDxSchema loader = new JsonParser();
+                    schema = loader.getJsonSchema(version, MAPPER);
+                    schema.initializeValidators();
+                    schemas.put(version, schema);
+                }
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Schema and content validation outcome of one SBOM.
+     */
+    static final class Result implements TemurinReleaseSBOMs.Outcome {
+        private final String fileName;
+        private final String specVersion;
+        private final List<String> schemaErrors;
+        private final TemurinSBOMValidator.Report report;
+
+        Result(final String fileNameParam, final String specVersionParam, final List<String> schemaErrorsParam,
+               final TemurinSBOMValidator.Report reportParam) {
+            this.fileName = fileNameParam;
+            this.specVersion = specVersionParam;
+            this.schemaErrors = schemaErrorsParam;
+            this.report = reportParam;
+        }
+
+        @Override
+        public boolean passed() {
+            return schemaErrors.isEmpty() && report != null && report.passed();
+        }
+
+        void print() {
+            if (schemaErrors.isEmpty()) {
+                System.out.println(fileName + ": Passed CycloneDX " + specVersion + " schema validation.");
+            } else {
+                System.out.println("ERROR: " + fileName + ": Failed CycloneDX schema validation:");
+                for (String error : schemaErrors) {
+                    System.out.println("  " + error);
+                }
+            }
+            if (report != null) {
+                report.print();
+            }
+        }
+
+        @Override
+        public Map<String, Object> toJson() {
+            Map<String, Object> json = report != null ? report.toJson() : new LinkedHashMap<>();
+            json.put("file", fileName);
+            json.put("result", passed() ? "PASS" : "FAIL");
+            Map<String, Object> schema = new LinkedHashMap<>();
+            schema.put("specVersion", specVersion);
+            schema.put("result", schemaErrors.isEmpty() ? "PASS" : "FAIL");
+            schema.put("errors", schemaErrors);
+            json.put("schema", schema);
+            return json;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Structural diff of two JSON SBOMs, e.g. a release SBOM and the SBOM of its
+ * reproducibility rebuild.
+ *
+ * Objects are compared field by field. Arrays of objects are matched by a stable key
+ * rather than by position: "bom-ref", "ref", "name", "alg", "executed" or "url",
+ * whichever the elements have, numbered "#2", "#3"... for repeated keys. Arrays of
+ * values are compared as sets. Each array is indexed once, so the diff is linear in the
+ * size of the SBOMs, and a moved or inserted component, tool, property or formulation
+ * step is reported once rather than as a shift of everything after it.
+ *
+ * Changes are reported by path, e.g. components[JDK Component].properties[SCM Ref].value.
+ * serialNumber and metadata.timestamp differ between any two builds and are ignored unless
+ * --all is given; further paths can be ignored with --ignore.
+ *
+ * TemurinSBOMDiff --oldFile file --newFile file [--diffFile file] [--ignore path]... [--all]
+ *
+ * --diffFile writes the change set as JSON. The exit code is 0 if the SBOMs are the same,
+ * 2 if they differ and 1 on error.
+ */
+public final class TemurinSBOMDiff {
+
+    static final String ADDED = "added";
+    static final String REMOVED = "removed";
+    static final String CHANGED = "changed";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Element fields identifying an array element, in order of preference
+    private static final String[] KEYS = {"bom-ref", "ref", "name", "alg", "executed", "url"};
+
+    // Differ between any two builds of the same source
+    private static final String[] VOLATILE = {"serialNumber", "metadata.timestamp"};
+
+    private final Set<String> ignored;
+    private final List<Change> changes = new ArrayList<>();
+
+    TemurinSBOMDiff(final Set<String> ignoredParam) {
+        this.ignored = ignoredParam;
+    }
+
+    /**
+     * Main entry.
+     * @param args Arguments for the sbom diff.
+     */
+    public static void main(final String[] args) {
+        String oldFile = null;
+        String newFile = null;
+        String diffFile = null;
+        boolean all = false;
+        Set<String> ignored = new HashSet<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--all")) {
+                all = true;
+            } else if (i == args.length - 1) {
+                break;
+            } else if (args[i].equals("--oldFile")) {
+                oldFile = args[++i];
+            } else if (args[i].equals("--newFile")) {
+                newFile = args[++i];
+            } else if (args[i].equals("--diffFile")) {
+                diffFile = args[++i];
+            } else if (args[i].equals("--ignore")) {
+                ignored.add(args[++i]);
+            }
+        }
+        if (oldFile == null || newFile == null) {
+            System.out.println("Usage: TemurinSBOMDiff --oldFile file --newFile file [--diffFile file] [--ignore path]... [--all]");
+            System.exit(1);
+        }
+        if (!all) {
+            for (String path : VOLATILE) {
+                ignored.add(path);
+            }
+        }
+
+        List<Change> changes = null;
+        try {
+            changes = diff(MAPPER.readTree(new File(oldFile)), MAPPER.readTree(new File(newFile)), ignored);
+            for (Change change : changes) {
+                System.out.println(change);
+            }
+            Map<String, Integer> summary = summary(changes);
+            System.out.println(summary.get(ADDED) + " added, " + summary.get(REMOVED) + " removed, " + summary.get(CHANGED) + " changed");
+            if (diffFile != null) {
+                MAPPER.writeValue(new File(diffFile), toJson(oldFile, newFile, changes));
+            }
+        } catch (IOException e) {
+            System.out.println("ERROR: Unable to diff " + oldFile + " and " + newFile + ": " + e);
+            System.exit(1);
+        }
+        if (!changes.isEmpty()) {
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Computes the changes from one SBOM to another.
+     * @param oldSbom The parsed old SBOM.
+     * @param newSbom The parsed new SBOM.
+     * @param ignored Paths to ignore, including everything below them.
+     * @return The changes, in document order of the new SBOM, removals where they were in the old.
+     */
+    static List<Change> diff(final JsonNode oldSbom, final JsonNode newSbom, final Set<String> ignored) {
+        TemurinSBOMDiff diff = new TemurinSBOMDiff(ignored);
+        diff.compare("", oldSbom, newSbom);
+        return diff.changes;
+    }
+
+    private void compare(final String path, final JsonNode oldNode, final JsonNode newNode) {
+        if (ignored.contains(path)) {
+            return;
+        }
+        if (oldNode.isObject() && newNode.isObject()) {
+            compareObjects(path, oldNode, newNode);
+        } else if (oldNode.isArray() && newNode.isArray()) {
+            compareArrays(path, oldNode, newNode);
+        } else if (!oldNode.equals(newNode)) {
+            changes.add(new Change(CHANGED, path, oldNode, newNode));
+        }
+    }
+
+    private void compareObjects(final String path, final JsonNode oldNode, final JsonNode newNode) {
+        Iterator<Map.Entry<String, JsonNode>> fields = newNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode oldValue = oldNode.get(field.getKey());
+            String fieldPath = path.isEmpty() ? field.getKey() : path + "." + field.getKey();
+            if (oldValue == null) {
+                added(fieldPath, field.getValue());
+            } else {
+                compare(fieldPath, oldValue, field.getValue());
+            }
+        }
+        fields = oldNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!newNode.has(field.getKey())) {
+                removed(path.isEmpty() ? field.getKey() : path + "." + field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    private void compareArrays(final String path, final JsonNode oldNode, final JsonNode newNode) {
+        Map<String, JsonNode> oldElements = index(oldNode);
+        Map<String, JsonNode> newElements = index(newNode);
+        for (Map.Entry<String, JsonNode> element : newElements.entrySet()) {
+            JsonNode oldValue = oldElements.get(element.getKey());
+            String elementPath = path + "[" + element.getKey() + "]";
+            if (oldValue == null) {
+                added(elementPath, element.getValue());
+            } else {
+                compare(elementPath, oldValue, element.getValue());
+            }
+        }
+        for (Map.Entry<String, JsonNode> element : oldElements.entrySet()) {
+            if (!newElements.containsKey(element.getKey())) {
+                removed(path + "[" + element.getKey() + "]", element.getValue());
+            }
+        }
+    }
+
+    // Array elements by key, in array order
+    static Map<String, JsonNode> index(final JsonNode array) {
+        Map<String, JsonNode> elements = new LinkedHashMap<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        int position = 0;
+        for (JsonNode element : array) {
+            String key = key(element, position++);
+            int n = occurrences.merge(key, 1, Integer::sum);
+            elements.put(n == 1 ? key : key + "#" + n, element);
+        }
+        return elements;
+    }
+
+    private static String key(final JsonNode element, final int position) {
+        if (element.isObject()) {
+            for (String field : KEYS) {
+                JsonNode value = element.get(field);
+                if (value != null && value.isValueNode()) {
+                    return value.asText();
+                }
+            }
+            return String.valueOf(position);
+        }
+        return element.isValueNode() ? element.asText() : String.valueOf(position);
+    }
+
+    private void added(final String path, final JsonNode value) {
+        if (!ignored.contains(path)) {
+            changes.add(new Change(ADDED, path, null, value));
+        }
+    }
+
+    private void removed(final String path, final JsonNode value) {
+        if (!ignored.contains(path)) {
+            changes.add(new Change(REMOVED, path, value, null));
+        }
+    }
+
+    static Map<String, Integer> summary(final List<Change> changes) {
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        summary.put(ADDED, 0);
+        summary.put(REMOVED, 0);
+        summary.put(CHANGED, 0);
+        for (Change change : changes) {
+            summary.merge(change.op, 1, Integer::sum);
+        }
+        return summary;
+    }
+
+    static Map<String, Object> toJson(final String oldFile, final String newFile, final List<Change> changes) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("old", oldFile);
+        json.put("new", newFile);
+        json.put("summary", summary(changes));
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Change change : changes) {
+            list.add(change.toJson());
+        }
+        json.put("changes", list);
+        return json;
+    }
+
+    /**
+     * One added, removed or changed value.
+     */
+    static final class Change {
+        private final String op;
+        private final String path;
+        private final JsonNode oldValue;
+        private final JsonNode newValue;
+
+        Change(final String opParam, final String pathParam, final JsonNode oldValueParam, final JsonNode newValueParam) {
+            this.op = opParam;
+            this.path = pathParam;
+            this.oldValue = oldValueParam;
+            this.newValue = newValueParam;
+        }
+
+        String getOp() {
+            return op;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("op", op);
+            json.put("path", path);
+            if (oldValue != null) {
+                json.put("old", oldValue);
+            }
+            if (newValue != null) {
+                json.put("new", newValue);
+            }
+            return json;
+        }
+
+        @Override
+        public String toString() {
+            switch (op) {
+                case ADDED:
+                    return "+ " + path + " = " + newValue;
+                case REMOVED:
+                    return "- " + path + " = " + oldValue;
+                default:
+                    return "~ " + path + ": " + oldValue + " -> " + newValue;
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.formulation.Formula;
+import org.cyclonedx.model.formulation.Workflow;
+import org.cyclonedx.model.formulation.task.Step;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookup index over a loaded BOM.
+ *
+ * Maps component names, formula bomRefs, workflow bomRefs and step names to their
+ * nodes so TemurinGenSBOM does not scan the BOM lists on every operation. The index
+ * is built once when the BOM is loaded; all mutations of indexed lists must go
+ * through it to keep it in sync. Model nodes are keyed by identity, as their
+ * equals/hashCode depend on their (changing) content.
+ */
+final class TemurinSBOMIndex {
+
+    private final Bom bom;
+    private final Map<String, List<Component>> components = new HashMap<>();
+    private final Map<String, List<Formula>> formulas = new HashMap<>();
+    private final Map<Formula, Map<String, List<Component>>> formulaComponents = new IdentityHashMap<>();
+    private final Map<Formula, Map<String, Workflow>> workflows = new IdentityHashMap<>();
+    private final Map<Workflow, Map<String, Step>> steps = new IdentityHashMap<>();
+
+    private TemurinSBOMIndex(final Bom bomParam) {
+        this.bom = bomParam;
+    }
+
+    /**
+     * Builds the index for the given BOM.
+     * @param bom The loaded BOM.
+     * @return The index.
+     */
+    static TemurinSBOMIndex of(final Bom bom) {
+        TemurinSBOMIndex index = new TemurinSBOMIndex(bom);
+        TemurinMetrics.Phase indexing = TemurinMetrics.phase("index");
+        try {
+            if (bom.getComponents() != null) {
+                for (Component comp : bom.getComponents()) {
+                    register(index.components, comp.getName(), comp);
+                }
+            }
+            if (bom.getFormulation() != null) {
+                for (Formula formula : bom.getFormulation()) {
+                    index.registerFormula(formula);
+                }
+            }
+        } finally {
+            indexing.end();
+        }
+        return index;
+    }
+
+    Bom getBom() {
+        return bom;
+    }
+
+    // Components with the given name, in BOM order
+    List<Component> getComponents(final String name) {
+        return components.getOrDefault(name, Collections.emptyList());
+    }
+
+    void addComponent(final Component comp) {
+        bom.addComponent(comp);
+        register(components, comp.getName(), comp);
+    }
+
+    // Formulas with the given bomRef, in BOM order
+    List<Formula> getFormulas(final String bomRef) {
+        return formulas.getOrDefault(bomRef, Collections.emptyList());
+    }
+
+    void addFormula(final Formula formula) {
+        List<Formula> formulation = bom.getFormulation();
+        if (formulation == null) {
+            formulation = new LinkedList<Formula>();
+            bom.setFormulation(formulation);
+        }
+        formulation.add(formula);
+        registerFormula(formula);
+    }
+
+    // First formula with the given bomRef, created if there is none. A null bomRef always creates a new formula.
+    Formula getOrCreateFormula(final String bomRef) {
+        if (bomRef != null) {
+            List<Formula> found = getFormulas(bomRef);
+            if (!found.isEmpty()) {
+                return found.get(0);
+            }
+        }
+        Formula formula = new Formula();
+        formula.setBomRef(bomRef);
+        addFormula(formula);
+        return formula;
+    }
+
+    // Components of the formula with the given name, in BOM order
+    List<Component> getFormulaComponents(final Formula formula, final String name) {
+        Map<String, List<Component>> byName = formulaComponents.get(formula);
+        if (byName == null) {
+            return Collections.emptyList();
+        }
+        return byName.getOrDefault(name, Collections.emptyList());
+    }
+
+    void addFormulaComponent(final Formula formula, final Component comp) {
+        List<Component> comps = formula.getComponents();
+        if (comps == null) {
+            comps = new LinkedList<Component>();
+        }
+        comps.add(comp);
+        formula.setComponents(comps);
+        register(formulaComponents.computeIfAbsent(formula, f -> new HashMap<>()), comp.getName(), comp);
+    }
+
+    // First workflow of the formula with the given bomRef, created if there is none. A null bomRef always creates a new workflow.
+    Workflow getOrCreateWorkflow(final Formula formula, final String bomRef) {
+        Map<String, Workflow> byRef = workflows.computeIfAbsent(formula, f -> new HashMap<>());
+        if (bomRef != null) {
+            Workflow found = byRef.get(bomRef);
+            if (found != null) {
+                return found;
+            }
+        }
+        List<Workflow> wfs = formula.getWorkflows();
+        if (wfs == null) {
+            wfs = new LinkedList<>();
+            formula.setWorkflows(wfs);
+        }
+        Workflow wf = new Workflow();
+        wf.setBomRef(bomRef);
+        wfs.add(wf);
+        registerWorkflow(formula, wf);
+        return wf;
+    }
+
+    // First step of the workflow with the given name, or null
+    Step findStep(final Workflow wf, final String name) {
+        if (name == null) {
+            return null;
+        }
+        Map<String, Step> byName = steps.get(wf);
+        return byName == null ? null : byName.get(name);
+    }
+
+    void addStep(final Workflow wf, final Step step) {
+        List<Step> wfSteps = wf.getSteps();
+        if (wfSteps == null) {
+            wfSteps = new LinkedList<>();
+        }
+        wfSteps.add(step);
+        wf.setSteps(wfSteps);
+        registerStep(wf, step);
+    }
+
+    private void registerFormula(final Formula formula) {
+        register(formulas, formula.getBomRef(), formula);
+        Map<String, List<Component>> byName = formulaComponents.computeIfAbsent(formula, f -> new HashMap<>());
+        if (formula.getComponents() != null) {
+            for (Component comp : formula.getComponents()) {
+                register(byName, comp.getName(), comp);
+            }
+        }
+        if (formula.getWorkflows() != null) {
+            for (Workflow wf : formula.getWorkflows()) {
+                registerWorkflow(formula, wf);
+            }
+        }
+    }
+
+    private void registerWorkflow(final Formula formula, final Workflow wf) {
+        if (wf.getBomRef() != null) {
+            workflows.computeIfAbsent(formula, f -> new HashMap<>()).putIfAbsent(wf.getBomRef(), wf);
+        }
+        if (wf.getSteps() != null) {
+            for (Step step : wf.getSteps()) {
+                registerStep(wf, step);
+            }
+        }
+    }
+
+    private void registerStep(final Workflow wf, final Step step) {
+        if (step.getName() != null) {
+            steps.computeIfAbsent(wf, w -> new HashMap<>()).putIfAbsent(step.getName(), step);
+        }
+    }
+
+    // Nodes without a name or bomRef are not indexed, as the lookups never matched them
+    private static <T> void register(final Map<String, List<T>> map, final String key, final T node) {
+        if (key != null) {
+            map.computeIfAbsent(key, k -> new ArrayList<>()).add(node);
+        }
+    }
+}
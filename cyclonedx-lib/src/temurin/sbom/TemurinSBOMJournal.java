@@ -0,0 +1,96 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only journal of TemurinGenSBOM commands, kept in a hidden file next to the SBOM.
+ *
+ * In journal mode (--journal) a command is not applied to the SBOM; its command line is
+ * appended to the journal as one JSON array per line. "--compact" replays the journal in
+ * order into the BOM, writes the SBOM once and removes the journal. The journal doubles
+ * as a record of how the SBOM was assembled.
+ */
+final class TemurinSBOMJournal {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TemurinSBOMJournal() {
+    }
+
+    // The journal of the given SBOM file: <dir>/.<name>.journal
+    static Path journalFor(final String fileName) {
+        Path source = Paths.get(fileName).toAbsolutePath();
+        return source.resolveSibling("." + source.getFileName() + ".journal");
+    }
+
+    static boolean exists(final String fileName) {
+        return Files.exists(journalFor(fileName));
+    }
+
+    /**
+     * Appends one command line to the journal of the given SBOM file.
+     * @param fileName The SBOM file.
+     * @param args The command line to record.
+     * @param restart True to discard the existing journal first (a new SBOM).
+     * @throws IOException If the journal cannot be written.
+     */
+    static void append(final String fileName, final List<String> args, final boolean restart) throws IOException {
+        byte[] record = (MAPPER.writeValueAsString(args) + "\n").getBytes(StandardCharsets.UTF_8);
+        if (restart) {
+            Files.write(journalFor(fileName), record, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            Files.write(journalFor(fileName), record, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Reads the recorded command lines, in the order they were appended.
+     * @param fileName The SBOM file.
+     * @return The command lines, empty if there is no journal.
+     * @throws IOException If the journal cannot be read or a record is corrupt.
+     */
+    static List<String[]> read(final String fileName) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        Path journal = journalFor(fileName);
+        if (!Files.exists(journal)) {
+            return records;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    records.add(MAPPER.readValue(line, String[].class));
+                }
+            }
+        }
+        return records;
+    }
+
+    static void delete(final String fileName) throws IOException {
+        Files.deleteIfExists(journalFor(fileName));
+    }
+}
@@ -0,0 +1,526 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Merges the per-platform SBOMs of a release into one aggregate JSON SBOM.
+ *
+ * The input SBOMs are parsed, and each of their components, tools and formulas hashed,
+ * in parallel. Entries with the same content (SHA-256 of their canonical JSON) are kept
+ * once; entries that differ per platform, such as the JDK component with its platform
+ * specific properties, are kept once per distinct content. Every entry gets a
+ * "temurin:platform" property per platform SBOM it came from. A bom-ref defined by more
+ * than one distinct entry, of any kind, is made unique with the content hash, and the
+ * references to it of each platform, in the dependencies and in ref, dependsOn and
+ * provides fields, are rewritten to the entry of that platform; an entry whose references
+ * resolve to different entries per platform is kept once per platform. The dependencies of the
+ * SBOMs are merged per ref, and their metadata properties kept once each. The result is
+ * streamed to the output file entry by entry, rather than built as a document first.
+ *
+ * TemurinSBOMMerge --jsonFile out (--sbomDir dir | --inputFile file...) [--name name] [--version version]
+ *
+ * --sbomDir merges the OpenJDK*-sbom*.json files of the directory, except metadata files.
+ * --name and --version describe the release in metadata.component.
+ */
+public final class TemurinSBOMMerge {
+
+    static final String PLATFORM_PROPERTY = "temurin:platform";
+
+    // Fields that refer to a bom-ref, by value or as an array of values
+    private static final String[] REFERENCES = {"ref", "dependsOn", "provides"};
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Canonical form for hashing: maps are written with their keys sorted
+    private static final ObjectMapper CANONICAL = new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    // e.g. OpenJDK21U-sbom_x64_linux_hotspot_21.0.5_11.json, OpenJDK21U-jdk-sbom_x64_alpine-linux_hotspot_...
+    private static final Pattern PLATFORM = Pattern.compile("sbom_(.+?)_hotspot");
+
+    private TemurinSBOMMerge() {
+    }
+
+    /**
+     * Main entry.
+     * @param args Arguments for the sbom merge.
+     */
+    public static void main(final String[] args) {
+        String jsonFile = null;
+        String sbomDir = null;
+        List<Path> files = new ArrayList<>();
+        String name = null;
+        String version = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--jsonFile")) {
+                jsonFile = args[++i];
+            } else if (args[i].equals("--sbomDir")) {
+                sbomDir = args[++i];
+            } else if (args[i].equals("--inputFile")) {
+                files.add(Paths.get(args[++i]));
+            } else if (args[i].equals("--name")) {
+                name = args[++i];
+            } else if (args[i].equals("--version")) {
+                version = args[++i];
+            }
+        }
+        if (jsonFile == null || (sbomDir == null && files.isEmpty())) {
+            System.out.println("Usage: TemurinSBOMMerge --jsonFile out (--sbomDir dir | --inputFile file...) [--name name] [--version version]");
+            System.exit(1);
+        }
+
+        try {
+            if (sbomDir != null) {
+                files.addAll(TemurinReleaseSBOMs.list(Paths.get(sbomDir)));
+            }
+            if (files.isEmpty()) {
+                System.out.println("ERROR: No SBOMs found in " + sbomDir);
+                System.exit(1);
+            }
+            Merged merged = merge(load(files));
+            write(merged, Paths.get(jsonFile), name, version);
+            System.out.println("Merged " + files.size() + " SBOMs into " + jsonFile + ": "
+                + merged.components.size() + " components, " + merged.tools.size() + " tools, "
+                + merged.formulas.size() + " formulas, " + merged.dependencies.size() + " dependencies");
+        } catch (IOException e) {
+            System.out.println("ERROR: Unable to merge SBOMs into " + jsonFile + ": " + e);
+            System.exit(1);
+        }
+    }
+
+    // Platform label from a release SBOM file name, else the file name
+    static String platform(final Path file) {
+        String fileName = file.getFileName().toString();
+        Matcher matcher = PLATFORM.matcher(fileName);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - ".json".length()) : fileName;
+    }
+
+    /**
+     * Parses and hashes the SBOMs in parallel.
+     * @param files The SBOM files.
+     * @return The parsed SBOMs, in the order given.
+     * @throws IOException If an SBOM cannot be read.
+     */
+    static List<Input> load(final List<Path> files) throws IOException {
+        return TemurinParallel.map(files, Runtime.getRuntime().availableProcessors(), "reading SBOMs",
+            file -> new Input(platform(file), MAPPER.readTree(file.toFile())));
+    }
+
+    /**
+     * Deduplicates the components, tools, formulas and metadata properties of the SBOMs by
+     * content, in order of first occurrence, makes the bom-refs unique and merges the
+     * dependencies.
+     * @param inputs The parsed SBOMs.
+     * @return The merged entries.
+     * @throws IOException If an entry cannot be hashed.
+     */
+    static Merged merge(final List<Input> inputs) throws IOException {
+        Merged merged = new Merged(inputs.get(0).sbom.path("specVersion").asText("1.6"));
+        for (Input input : inputs) {
+            merged.components.add(input.platform, input.components);
+            merged.tools.add(input.platform, input.tools);
+            merged.formulas.add(input.platform, input.formulas);
+            for (JsonNode property : input.sbom.path("metadata").path("properties")) {
+                merged.properties.add(property);
+            }
+        }
+        merged.renameRefs();
+        for (Input input : inputs) {
+            merged.addDependencies(input.platform, input.sbom.path("dependencies"));
+        }
+        return merged;
+    }
+
+    // Streams the merged SBOM, one entry at a time, through a temporary file
+    private static void write(final Merged merged, final Path target, final String name, final String version) throws IOException {
+        TemurinBomWriter.writeStream(target, out -> {
+            JsonGenerator json = MAPPER.getFactory().createGenerator(out);
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeStringField("bomFormat", "CycloneDX");
+            json.writeStringField("specVersion", merged.specVersion);
+            json.writeStringField("serialNumber", "urn:uuid:" + UUID.randomUUID());
+            json.writeNumberField("version", 1);
+            json.writeObjectFieldStart("metadata");
+            json.writeStringField("timestamp", Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
+            if (!merged.tools.isEmpty()) {
+                json.writeObjectFieldStart("tools");
+                merged.tools.writeArray(json, "components", merged);
+                json.writeEndObject();
+            }
+            if (name != null) {
+                json.writeObjectFieldStart("component");
+                json.writeStringField("type", "application");
+                json.writeStringField("name", name);
+                if (version != null) {
+                    json.writeStringField("version", version);
+                }
+                json.writeEndObject();
+            }
+            if (!merged.properties.isEmpty()) {
+                json.writeArrayFieldStart("properties");
+                for (JsonNode property : merged.properties) {
+                    json.writeTree(property);
+                }
+                json.writeEndArray();
+            }
+            json.writeEndObject();
+            if (!merged.components.isEmpty()) {
+                merged.components.writeArray(json, "components", merged);
+            }
+            if (!merged.dependencies.isEmpty()) {
+                json.writeArrayFieldStart("dependencies");
+                for (Map.Entry<String, Set<String>> dependency : merged.dependencies.entrySet()) {
+                    json.writeStartObject();
+                    json.writeStringField("ref", dependency.getKey());
+                    if (!dependency.getValue().isEmpty()) {
+                        json.writeArrayFieldStart("dependsOn");
+                        for (String dependsOn : dependency.getValue()) {
+                            json.writeString(dependsOn);
+                        }
+                        json.writeEndArray();
+                    }
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            }
+            if (!merged.formulas.isEmpty()) {
+                merged.formulas.writeArray(json, "formulation", merged);
+            }
+            json.writeEndObject();
+            json.flush();
+        });
+    }
+
+    // SHA-256 of the canonical JSON of the node, as hex
+    static String contentHash(final JsonNode node) throws IOException {
+        return sha256(CANONICAL.writeValueAsBytes(MAPPER.treeToValue(node, Object.class)));
+    }
+
+    private static String sha256(final byte[] bytes) throws IOException {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * One parsed SBOM, with its entries hashed.
+     */
+    static final class Input {
+        private final String platform;
+        private final JsonNode sbom;
+        private final List<Entry> components = new ArrayList<>();
+        private final List<Entry> tools = new ArrayList<>();
+        private final List<Entry> formulas = new ArrayList<>();
+
+        Input(final String platformParam, final JsonNode sbomParam) throws IOException {
+            this.platform = platformParam;
+            this.sbom = sbomParam;
+            hash(sbom.path("components"), components);
+            hash(sbom.path("metadata").path("tools").path("components"), tools);
+            hash(sbom.path("formulation"), formulas);
+        }
+
+        private static void hash(final JsonNode array, final List<Entry> entries) throws IOException {
+            for (JsonNode node : array) {
+                entries.add(new Entry(node, contentHash(node)));
+            }
+        }
+    }
+
+    /**
+     * A component, tool or formula with its content hash.
+     */
+    static final class Entry {
+        private final JsonNode node;
+        private final String hash;
+        private final List<String> platforms = new ArrayList<>();
+
+        Entry(final JsonNode nodeParam, final String hashParam) {
+            this.node = nodeParam;
+            this.hash = hashParam;
+        }
+    }
+
+    /**
+     * Distinct entries of one kind, by content hash, in order of first occurrence.
+     */
+    static final class Entries {
+        private final Map<String, Entry> byHash = new LinkedHashMap<>();
+
+        void add(final String platform, final List<Entry> entries) {
+            for (Entry entry : entries) {
+                Entry kept = byHash.putIfAbsent(entry.hash, entry);
+                kept = kept == null ? entry : kept;
+                if (!kept.platforms.contains(platform)) {
+                    kept.platforms.add(platform);
+                }
+            }
+        }
+
+        int size() {
+            return byHash.size();
+        }
+
+        boolean isEmpty() {
+            return byHash.isEmpty();
+        }
+
+        // Splits the entries whose references resolve to different entries per platform, by platform
+        boolean splitByRefs(final Merged merged) throws IOException {
+            Map<String, Entry> split = new LinkedHashMap<>();
+            for (Entry entry : byHash.values()) {
+                Map<List<String>, List<String>> platformsByRefs = new LinkedHashMap<>();
+                for (String platform : entry.platforms) {
+                    List<String> refs = new ArrayList<>();
+                    collectReferences(entry.node, merged.renamed(platform), refs);
+                    platformsByRefs.computeIfAbsent(refs, k -> new ArrayList<>()).add(platform);
+                }
+                if (platformsByRefs.size() == 1) {
+                    split.put(entry.hash, entry);
+                    continue;
+                }
+                for (Map.Entry<List<String>, List<String>> group : platformsByRefs.entrySet()) {
+                    String id = entry.hash + "\n" + String.join("\n", group.getKey());
+                    Entry platformEntry = new Entry(entry.node, sha256(id.getBytes(StandardCharsets.UTF_8)));
+                    platformEntry.platforms.addAll(group.getValue());
+                    split.put(platformEntry.hash, platformEntry);
+                }
+            }
+            boolean changed = split.size() != byHash.size();
+            byHash.clear();
+            byHash.putAll(split);
+            return changed;
+        }
+
+        // The references of the node and its children, as resolved with the renamed bom-refs
+        private static void collectReferences(final JsonNode node, final Map<String, String> renamed, final List<String> refs) {
+            if (node.isObject()) {
+                for (String field : REFERENCES) {
+                    JsonNode value = node.get(field);
+                    if (value != null && value.isTextual()) {
+                        refs.add(rename(renamed, value.asText()));
+                    } else if (value != null && value.isArray()) {
+                        for (JsonNode element : value) {
+                            refs.add(rename(renamed, element.asText()));
+                        }
+                    }
+                }
+            }
+            for (JsonNode child : node) {
+                collectReferences(child, renamed, refs);
+            }
+        }
+
+        // Writes the entries with their platforms, their colliding bom-refs suffixed with their hash and
+        // their references resolved in their first platform
+        void writeArray(final JsonGenerator json, final String field, final Merged merged) throws IOException {
+            json.writeArrayFieldStart(field);
+            for (Entry entry : byHash.values()) {
+                ObjectNode node = entry.node.deepCopy();
+                rewriteRefs(node, merged.colliding, "-" + entry.hash.substring(0, 12), merged.renamed(entry.platforms.get(0)));
+                ArrayNode properties = node.has("properties") && node.get("properties").isArray()
+                    ? (ArrayNode) node.get("properties") : node.putArray("properties");
+                for (String platform : entry.platforms) {
+                    properties.addObject().put("name", PLATFORM_PROPERTY).put("value", platform);
+                }
+                json.writeTree(node);
+            }
+            json.writeEndArray();
+        }
+
+        // Renames the colliding bom-refs, and the references to renamed bom-refs, in the node and its children
+        private static void rewriteRefs(final JsonNode node, final Set<String> colliding, final String suffix,
+                                        final Map<String, String> renamed) {
+            if (colliding.isEmpty()) {
+                return;
+            }
+            if (node.isObject()) {
+                ObjectNode object = (ObjectNode) node;
+                JsonNode ref = object.get("bom-ref");
+                if (ref != null && ref.isTextual() && colliding.contains(ref.asText())) {
+                    object.put("bom-ref", ref.asText() + suffix);
+                }
+                for (String field : REFERENCES) {
+                    rewriteRef(object, field, renamed);
+                }
+            }
+            for (Iterator<JsonNode> children = node.elements(); children.hasNext();) {
+                rewriteRefs(children.next(), colliding, suffix, renamed);
+            }
+        }
+
+        private static void rewriteRef(final ObjectNode object, final String field, final Map<String, String> renamed) {
+            JsonNode value = object.get(field);
+            if (value == null) {
+                return;
+            }
+            if (value.isTextual()) {
+                object.put(field, rename(renamed, value.asText()));
+            } else if (value.isArray()) {
+                ArrayNode array = (ArrayNode) value;
+                for (int i = 0; i < array.size(); i++) {
+                    if (array.get(i).isTextual()) {
+                        array.set(i, array.textNode(rename(renamed, array.get(i).asText())));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The merged entries of all SBOMs.
+     */
+    static final class Merged {
+        private final String specVersion;
+        private final Entries components = new Entries();
+        private final Entries tools = new Entries();
+        private final Entries formulas = new Entries();
+        private final Set<JsonNode> properties = new LinkedHashSet<>();
+        // bom-refs defined by more than one distinct entry
+        private final Set<String> colliding = new HashSet<>();
+        // Per platform, the unique bom-ref each of its colliding bom-refs was renamed to
+        private final Map<String, Map<String, String>> renamedByPlatform = new HashMap<>();
+        // dependsOn by ref, in order of first occurrence
+        private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+        Merged(final String specVersionParam) {
+            this.specVersion = specVersionParam;
+        }
+
+        // Suffixes every bom-ref defined by more than one distinct entry, of any kind, with the hash of each
+        // entry. Splitting an entry adds definitions of its bom-refs, so this repeats until none is split.
+        void renameRefs() throws IOException {
+            List<Entries> kinds = Arrays.asList(components, tools, formulas);
+            boolean split;
+            do {
+                Map<String, Integer> refs = new HashMap<>();
+                for (Entries entries : kinds) {
+                    for (Entry entry : entries.byHash.values()) {
+                        countRefs(entry.node, refs);
+                    }
+                }
+                colliding.clear();
+                for (Map.Entry<String, Integer> ref : refs.entrySet()) {
+                    if (ref.getValue() > 1) {
+                        colliding.add(ref.getKey());
+                    }
+                }
+                renamedByPlatform.clear();
+                for (Entries entries : kinds) {
+                    for (Entry entry : entries.byHash.values()) {
+                        for (String platform : entry.platforms) {
+                            collectRenames(entry.node, colliding, "-" + entry.hash.substring(0, 12),
+                                           renamedByPlatform.computeIfAbsent(platform, k -> new HashMap<>()));
+                        }
+                    }
+                }
+                split = false;
+                for (Entries entries : kinds) {
+                    split |= entries.splitByRefs(this);
+                }
+            } while (split);
+        }
+
+        Map<String, String> renamed(final String platform) {
+            Map<String, String> renamed = renamedByPlatform.get(platform);
+            return renamed != null ? renamed : Collections.emptyMap();
+        }
+
+        // Merges the dependencies of one SBOM by ref, with the bom-refs of its platform
+        void addDependencies(final String platform, final JsonNode array) {
+            Map<String, String> renamed = renamed(platform);
+            for (JsonNode dependency : array) {
+                JsonNode ref = dependency.get("ref");
+                if (ref == null || !ref.isTextual()) {
+                    continue;
+                }
+                Set<String> dependsOn = dependencies.computeIfAbsent(rename(renamed, ref.asText()), k -> new LinkedHashSet<>());
+                for (JsonNode child : dependency.path("dependsOn")) {
+                    dependsOn.add(rename(renamed, child.asText()));
+                }
+            }
+        }
+
+        private static void countRefs(final JsonNode node, final Map<String, Integer> refs) {
+            if (node.isObject()) {
+                JsonNode ref = node.get("bom-ref");
+                if (ref != null && ref.isTextual()) {
+                    refs.merge(ref.asText(), 1, Integer::sum);
+                }
+            }
+            for (JsonNode child : node) {
+                countRefs(child, refs);
+            }
+        }
+
+        // The first definition of a bom-ref in a platform is the one its references resolve to
+        private static void collectRenames(final JsonNode node, final Set<String> colliding, final String suffix,
+                                           final Map<String, String> renamed) {
+            if (node.isObject()) {
+                JsonNode ref = node.get("bom-ref");
+                if (ref != null && ref.isTextual() && colliding.contains(ref.asText())) {
+                    renamed.putIfAbsent(ref.asText(), ref.asText() + suffix);
+                }
+            }
+            for (JsonNode child : node) {
+                collectRenames(child, colliding, suffix, renamed);
+            }
+        }
+    }
+
+    private static String rename(final Map<String, String> renamed, final String ref) {
+        String unique = renamed.get(ref);
+        return unique != null ? unique : ref;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Long-lived TemurinGenSBOM session over a local Unix domain socket.
+ *
+ * The server loads and indexes the SBOM once and applies every request to the in-memory BOM,
+ * writing it back to disk on "--commit", "--shutdown" or JVM exit. A client request
+ * is an ordinary TemurinGenSBOM command line, sent as NUL terminated UTF-8 strings;
+ * the server answers with a single "OK" or "ERROR: ..." line.
+ *
+ * A command that fails may have changed part of the in-memory BOM, as a failed TemurinGenSBOM
+ * call leaves its file unwritten. The session is then discarded: it answers every further
+ * request, commits included, with the error and never writes the BOM again.
+ *
+ * Server: TemurinSBOMSession --serve --socket path (--jsonFile|--xmlFile) file [--verbose]
+ * Client: TemurinSBOMSession --socket path TemurinGenSBOM-args... | --commit | --shutdown
+ */
+public final class TemurinSBOMSession {
+
+    private static final String OK = "OK";
+    private static final String ERROR = "ERROR: ";
+
+    private final Path socketPath;
+    private final String fileName;
+    private final boolean verbose;
+    private TemurinSBOMIndex index;
+    private boolean dirty = false;
+    private String failure;
+
+    private TemurinSBOMSession(final Path socketPathParam, final String fileNameParam, final boolean verboseParam) {
+        this.socketPath = socketPathParam;
+        this.fileName = fileNameParam;
+        this.verbose = verboseParam;
+    }
+
+    /**
+     * Main entry.
+     * @param args Arguments for session operation.
+     */
+    public static void main(final String[] args) {
+        boolean serve = false;
+        String socket = null;
+        List<String> request = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--serve")) {
+                serve = true;
+            } else if (args[i].equals("--socket") && i + 1 < args.length) {
+                socket = args[++i];
+            } else {
+                request.add(args[i]);
+            }
+        }
+
+        if (socket == null) {
+            System.out.println("ERROR: --socket not specified");
+            System.exit(1);
+        }
+
+        try {
+            if (serve) {
+                serve(Paths.get(socket), request.toArray(new String[0]));
+            } else {
+                String response = send(Paths.get(socket), request);
+                if (!response.startsWith(OK)) {
+                    System.out.println(response);
+                    System.exit(1);
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("\nException: " + e);
+            System.exit(1);
+        }
+    }
+
+    // Sends one request to a running session and returns its response line
+    static String send(final Path socket, final List<String> request) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (String arg : request) {
+                out.write(arg.getBytes(StandardCharsets.UTF_8));
+                out.write(0);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.shutdownOutput();
+            return new String(readFully(channel), StandardCharsets.UTF_8).trim();
+        }
+    }
+
+    private static void serve(final Path socket, final String[] args) throws Exception {
+        TemurinGenSBOM.ParsedArgs parsedArgs = TemurinGenSBOM.parseArgs(args);
+        if (parsedArgs.getFileName() == null) {
+            System.out.println("ERROR: --jsonFile or --xmlFile not specified");
+            System.exit(1);
+        }
+        TemurinGenSBOM.configure(parsedArgs);
+
+        TemurinSBOMSession session = new TemurinSBOMSession(socket, parsedArgs.getFileName(), parsedArgs.isVerbose());
+        session.load();
+        session.run();
+    }
+
+    // Loads the SBOM if it already exists, otherwise starts from an empty BOM
+    private synchronized void load() {
+        if (Files.exists(Paths.get(fileName))) {
+            index = TemurinSBOMIndex.of(TemurinGenSBOM.readFile(fileName));
+        } else {
+            index = TemurinSBOMIndex.of(TemurinGenSBOM.createBom());
+            dirty = true;
+        }
+    }
+
+    private void run() throws IOException {
+        Files.deleteIfExists(socketPath);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushQuietly));
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            if (verbose) {
+                System.out.println("SBOM session for " + fileName + " listening on " + socketPath);
+            }
+            boolean running = true;
+            while (running) {
+                SocketChannel client = server.accept();
+                try (client) {
+                    List<String> request = splitRequest(readFully(client));
+                    String response;
+                    // Control requests are the whole request, not an option value of a command
+                    if (request.size() == 1 && request.get(0).equals("--shutdown")) {
+                        response = commit();
+                        running = false;
+                    } else if (request.size() == 1 && request.get(0).equals("--commit")) {
+                        response = commit();
+                    } else {
+                        response = handle(request);
+                    }
+                    ByteBuffer buffer = ByteBuffer.wrap((response + "\n").getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        client.write(buffer);
+                    }
+                } catch (IOException e) {
+                    // Only this client is lost, not the session and its uncommitted updates
+                    System.out.println("SBOM session request failed: " + e);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(socketPath);
+        }
+    }
+
+    // Applies one TemurinGenSBOM command line to the in-memory BOM
+    private synchronized String handle(final List<String> request) {
+        if (failure != null) {
+            return discarded();
+        }
+        String[] args = request.toArray(new String[0]);
+        TemurinGenSBOM.ParsedArgs parsedArgs = TemurinGenSBOM.parseArgs(args);
+        if (parsedArgs.getFileName() != null
+            && !Paths.get(parsedArgs.getFileName()).toAbsolutePath().normalize().equals(Paths.get(fileName).toAbsolutePath().normalize())) {
+            return ERROR + "session is serving " + fileName + ", not " + parsedArgs.getFileName();
+        }
+        try {
+            switch (parsedArgs.getCmd()) {
+                case "":
+                    return ERROR + "Please enter a valid command.";
+                case "createNewSBOM":
+                    index = TemurinSBOMIndex.of(TemurinGenSBOM.createBom());
+                    break;
+                default:
+                    TemurinGenSBOM.apply(index, parsedArgs);
+                    break;
+            }
+            dirty = true;
+            if (verbose) {
+                System.out.println("SBOM session applied " + parsedArgs.getCmd());
+            }
+            return OK;
+        } catch (Exception e) {
+            failure = e.toString();
+            return ERROR + e;
+        }
+    }
+
+    private String discarded() {
+        return ERROR + "session discarded after a failed request: " + failure;
+    }
+
+    private synchronized String commit() {
+        if (failure != null) {
+            return discarded();
+        }
+        try {
+            if (dirty) {
+                TemurinGenSBOM.saveFile(index.getBom(), fileName);
+                dirty = false;
+            }
+            return OK;
+        } catch (Exception e) {
+            return ERROR + e;
+        }
+    }
+
+    // Shutdown hook, so a terminated session does not lose its pending changes nor leave its socket behind
+    private void flushQuietly() {
+        String result = commit();
+        if (!result.startsWith(OK)) {
+            System.out.println("SBOM session could not write " + fileName + ": " + result);
+        }
+        try {
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            // Removed by the next startSBOMSession
+        }
+    }
+
+    private static List<String> splitRequest(final byte[] data) {
+        List<String> request = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == 0) {
+                request.add(new String(data, start, i - start, StandardCharsets.UTF_8));
+                start = i + 1;
+            }
+        }
+        return request;
+    }
+
+    private static byte[] readFully(final SocketChannel channel) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            out.write(buffer.array(), 0, buffer.limit());
+            buffer.clear();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.cyclonedx.Version;
+import org.cyclonedx.model.Bom;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Binary snapshot of a JSON SBOM, kept in a hidden sidecar file next to it.
+ *
+ * The snapshot holds the BOM as written to the JSON file, serialized to Smile (binary JSON)
+ * with the same mapper, preceded by the size, modification time and SHA-256 digest of the
+ * JSON file and the time the snapshot was taken. Loading it binds the same tree the JSON
+ * parser would, without tokenizing the text.
+ *
+ * The JSON file can also be rewritten by other tools, and a file system may store the
+ * modification time only to the second or two, so a same size rewrite soon after the
+ * snapshot can leave size and modification time unchanged. They are therefore only
+ * trusted when the snapshot was taken well after the file was last modified; otherwise,
+ * or when they do not match, the digest of the file decides. The JSON file stays the
+ * source of truth: a snapshot that does not match it is deleted and the JSON is parsed
+ * as usual.
+ */
+final class TemurinSBOMSnapshot {
+
+    private static final int MAGIC = 0x54534253; // "TSBS"
+    private static final int FORMAT_VERSION = 2;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Coarser than the modification time resolution of any file system the build runs on
+    private static final long MTIME_GRANULARITY_MILLIS = 3000;
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    private TemurinSBOMSnapshot() {
+    }
+
+    // The sidecar of the given SBOM file: <dir>/.<name>.snapshot
+    static Path snapshotFor(final String fileName) {
+        Path source = Paths.get(fileName).toAbsolutePath();
+        return source.resolveSibling("." + source.getFileName() + ".snapshot");
+    }
+
+    /**
+     * Loads the BOM from the snapshot of the given JSON file.
+     * @param fileName The JSON SBOM file.
+     * @return The BOM, or null if there is no snapshot matching the file.
+     */
+    static Bom read(final String fileName) {
+        Path snapshot = snapshotFor(fileName);
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        Path source = Paths.get(fileName);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return discard(snapshot);
+            }
+            long size = in.readLong();
+            long modified = in.readLong();
+            long taken = in.readLong();
+            byte[] digest = new byte[in.readUnsignedShort()];
+            in.readFully(digest);
+
+            BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+            if (attrs.size() != size) {
+                return discard(snapshot);
+            }
+            // A rewrite within the mtime granularity of the snapshot may not have changed the mtime
+            boolean unchanged = attrs.lastModifiedTime().toMillis() == modified && taken - modified >= MTIME_GRANULARITY_MILLIS;
+            if (!unchanged && !MessageDigest.isEqual(digest, digest(source))) {
+                return discard(snapshot);
+            }
+            return new ObjectMapper(SMILE_FACTORY).readValue((InputStream) in, Bom.class);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return discard(snapshot);
+        }
+    }
+
+    /**
+     * Takes a new snapshot of the given JSON file from the BOM just written to it, replacing
+     * any previous one. The file is only read to digest it, not parsed. A snapshot that
+     * cannot be written is removed, it never fails the calling command.
+     * @param fileName The JSON SBOM file, as just written.
+     * @param bom The BOM written to it.
+     * @param version The CycloneDX version it was written with.
+     */
+    static void update(final String fileName, final Bom bom, final Version version) {
+        Path snapshot = snapshotFor(fileName);
+        Path source = Paths.get(fileName);
+        try {
+            long taken = System.currentTimeMillis();
+            BasicFileAttributes before = Files.readAttributes(source, BasicFileAttributes.class);
+            byte[] digest = digest(source);
+            BasicFileAttributes after = Files.readAttributes(source, BasicFileAttributes.class);
+            if (after.size() != before.size() || !after.lastModifiedTime().equals(before.lastModifiedTime())) {
+                // Changed while we read it, the next read parses the JSON
+                discard(snapshot);
+                return;
+            }
+            TemurinBomWriter.writeStream(snapshot, out -> {
+                DataOutputStream data = new DataOutputStream(out);
+                data.writeInt(MAGIC);
+                data.writeInt(FORMAT_VERSION);
+                data.writeLong(after.size());
+                data.writeLong(after.lastModifiedTime().toMillis());
+                data.writeLong(taken);
+                data.writeShort(digest.length);
+                data.write(digest);
+                TemurinBomWriter.writeTokens(bom, version, SMILE_FACTORY, data);
+                data.flush();
+            });
+        } catch (IOException | NoSuchAlgorithmException e) {
+            discard(snapshot);
+        }
+    }
+
+    private static byte[] digest(final Path file) throws IOException, NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                md.update(buffer, 0, n);
+            }
+        }
+        return md.digest();
+    }
+
+    private static Bom discard(final Path snapshot) {
+        try {
+            Files.deleteIfExists(snapshot);
+        } catch (IOException e) {
+            // A stale snapshot is still rejected by the next read
+        }
+        return null;
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Read-only streaming pass over a JSON SBOM.
+ *
+ * The SBOM is read token by token and only one element at a time is built as a tree:
+ * a tool, a component, a formula component or a workflow step command. Formulas,
+ * workflows and steps are reported with their other fields ("header"), without their
+ * nested arrays, so memory use does not grow with the number of components or recorded
+ * build commands. Used by read-only operations in place of loading the whole Bom.
+ *
+ * The headers passed along with a nested element hold the fields read so far; CycloneDX
+ * writes "bom-ref" and "name" before the nested arrays.
+ *
+ * TemurinSBOMStream --jsonFile file [--component name]
+ *
+ * prints the number of tools, components, formulas, workflows, steps and commands, or
+ * the components with the given name.
+ */
+public final class TemurinSBOMStream {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TemurinSBOMStream() {
+    }
+
+    /**
+     * Receives the parts of an SBOM in document order. All methods default to ignoring them.
+     */
+    interface Visitor {
+        // A top level value, e.g. specVersion or serialNumber
+        default void field(String name, JsonNode value) throws IOException {
+        }
+
+        // A metadata field other than tools, e.g. timestamp or component
+        default void metadata(String name, JsonNode value) throws IOException {
+        }
+
+        // An element of metadata.tools.components (or of a legacy metadata.tools array)
+        default void tool(JsonNode tool) throws IOException {
+        }
+
+        default void component(JsonNode component) throws IOException {
+        }
+
+        default void formulaComponent(ObjectNode formula, JsonNode component) throws IOException {
+        }
+
+        default void command(ObjectNode formula, ObjectNode workflow, ObjectNode step, JsonNode command) throws IOException {
+        }
+
+        // Once all of its commands are visited
+        default void step(ObjectNode formula, ObjectNode workflow, ObjectNode step) throws IOException {
+        }
+
+        // Once all of its steps are visited
+        default void workflow(ObjectNode formula, ObjectNode workflow) throws IOException {
+        }
+
+        // Once all of its components and workflows are visited
+        default void formula(ObjectNode formula) throws IOException {
+        }
+    }
+
+    private interface ElementReader {
+        void read() throws IOException;
+    }
+
+    /**
+     * Streams the SBOM to the visitor.
+     * @param file The JSON SBOM.
+     * @param visitor Receives the parts of the SBOM.
+     * @throws IOException If the file cannot be read or is not a JSON object.
+     */
+    static void read(final Path file, final Visitor visitor) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(Files.newInputStream(file))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException(file + " is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name) {
+                    case "metadata":
+                        readMetadata(parser, visitor);
+                        break;
+                    case "components":
+                        eachElement(parser, () -> visitor.component(MAPPER.readTree(parser)));
+                        break;
+                    case "formulation":
+                        eachElement(parser, () -> readFormula(parser, visitor));
+                        break;
+                    default:
+                        if (parser.currentToken().isScalarValue()) {
+                            visitor.field(name, MAPPER.readTree(parser));
+                        } else {
+                            parser.skipChildren();
+                        }
+                }
+            }
+        }
+    }
+
+    private static void readMetadata(final JsonParser parser, final Visitor visitor) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (!name.equals("tools")) {
+                visitor.metadata(name, MAPPER.readTree(parser));
+            } else if (token == JsonToken.START_ARRAY) {
+                eachElement(parser, () -> visitor.tool(MAPPER.readTree(parser)));
+            } else if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if (field.equals("components")) {
+                        eachElement(parser, () -> visitor.tool(MAPPER.readTree(parser)));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+    }
+
+    private static void readFormula(final JsonParser parser, final Visitor visitor) throws IOException {
+        ObjectNode formula = MAPPER.createObjectNode();
+        readObject(parser, formula, name -> {
+            if (name.equals("components")) {
+                eachElement(parser, () -> visitor.formulaComponent(formula, MAPPER.readTree(parser)));
+            } else if (name.equals("workflows")) {
+                eachElement(parser, () -> readWorkflow(parser, visitor, formula));
+            } else {
+                return false;
+            }
+            return true;
+        });
+        visitor.formula(formula);
+    }
+
+    private static void readWorkflow(final JsonParser parser, final Visitor visitor, final ObjectNode formula) throws IOException {
+        ObjectNode workflow = MAPPER.createObjectNode();
+        readObject(parser, workflow, name -> {
+            if (!name.equals("steps")) {
+                return false;
+            }
+            eachElement(parser, () -> readStep(parser, visitor, formula, workflow));
+            return true;
+        });
+        visitor.workflow(formula, workflow);
+    }
+
+    private static void readStep(final JsonParser parser, final Visitor visitor, final ObjectNode formula, final ObjectNode workflow) throws IOException {
+        ObjectNode step = MAPPER.createObjectNode();
+        readObject(parser, step, name -> {
+            if (!name.equals("commands")) {
+                return false;
+            }
+            eachElement(parser, () -> visitor.command(formula, workflow, step, MAPPER.readTree(parser)));
+            return true;
+        });
+        visitor.step(formula, workflow, step);
+    }
+
+    private interface FieldReader {
+        // Streams the value of the field if it is a nested array of interest, returning false otherwise
+        boolean read(String name) throws IOException;
+    }
+
+    // Collects the fields of the current object into the header, except those streamed by the field reader
+    private static void readObject(final JsonParser parser, final ObjectNode header, final FieldReader nested) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (!nested.read(name)) {
+                header.set(name, MAPPER.readTree(parser));
+            }
+        }
+    }
+
+    // Calls the reader positioned on each element of the current array
+    private static void eachElement(final JsonParser parser, final ElementReader reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            reader.read();
+        }
+    }
+
+    /**
+     * Main entry.
+     * @param args Arguments for the sbom summary.
+     */
+    public static void main(final String[] args) {
+        String fileName = null;
+        String componentName = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--jsonFile")) {
+                fileName = args[++i];
+            } else if (args[i].equals("--component")) {
+                componentName = args[++i];
+            }
+        }
+        if (fileName == null) {
+            System.out.println("Usage: TemurinSBOMStream --jsonFile file [--component name]");
+            System.exit(1);
+        }
+
+        String lookup = componentName;
+        long[] counts = new long[6];
+        try {
+            read(Paths.get(fileName), new Visitor() {
+                @Override
+                public void tool(final JsonNode tool) {
+                    counts[0]++;
+                }
+
+                @Override
+                public void component(final JsonNode component) throws IOException {
+                    counts[1]++;
+                    if (lookup != null && lookup.equals(component.path("name").asText())) {
+                        System.out.println(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(component));
+                    }
+                }
+
+                @Override
+                public void formula(final ObjectNode formula) {
+                    counts[2]++;
+                }
+
+                @Override
+                public void workflow(final ObjectNode formula, final ObjectNode workflow) {
+                    counts[3]++;
+                }
+
+                @Override
+                public void step(final ObjectNode formula, final ObjectNode workflow, final ObjectNode step) {
+                    counts[4]++;
+                }
+
+                @Override
+                public void command(final ObjectNode formula, final ObjectNode workflow, final ObjectNode step, final JsonNode command) {
+                    counts[5]++;
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("ERROR: Unable to read " + fileName + ": " + e);
+            System.exit(1);
+        }
+        if (lookup == null) {
+            System.out.println("tools=" + counts[0] + " components=" + counts[1] + " formulas=" + counts[2]
+                + " workflows=" + counts[3] + " steps=" + counts[4] + " commands=" + counts[5]);
+        }
+    }
+}
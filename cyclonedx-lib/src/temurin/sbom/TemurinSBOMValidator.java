@@ -0,0 +1,462 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates the content of a Temurin JSON SBOM against the expected build environment
+ * of its platform and major version, as tooling/validateSBOMcontent.sh does with jq.
+ *
+ * The SBOM is streamed once (TemurinSBOMStream) and the tools (metadata.tools.components)
+ * and component properties are indexed by name. The facts read from them are then checked against
+ * RULES: per fact, the first rule matching the SBOM file name and major version gives
+ * the expected value.
+ *
+ * TemurinSBOMValidator --jsonFile file --majorVersion n [--scmRef ref] [--report file] [--facts file]
+ *
+ * --report writes the checks as JSON, --facts writes the facts as NAME=value lines.
+ */
+public final class TemurinSBOMValidator {
+
+    static final String GLIBC = "GLIBC";
+    static final String GCC = "GCC";
+    static final String BOOTJDK = "BOOTJDK";
+    static final String ALSA = "ALSA";
+    static final String FREETYPE = "FREETYPE";
+    static final String COMPILER = "COMPILER";
+    static final String SCM_REF = "SCM_REF";
+    static final String OPENJDK_SOURCE_COMMIT = "OPENJDK_SOURCE_COMMIT";
+    static final String TEMURIN_BUILD_REF = "TEMURIN_BUILD_REF";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Expected values; per fact the first rule matching the file name and major version applies.
+    // A fact without a matching rule is not checked.
+    private static final List<Rule> RULES = Arrays.asList(
+        new Rule(COMPILER, "solstudio (Oracle Solaris Studio)", "_solaris_"),
+        new Rule(COMPILER, "xlc (IBM XL C/C++)", "_aix_").upTo(21),
+        new Rule(COMPILER, "clang (clang/LLVM)", "_aix_"),
+        new Rule(COMPILER, "gcc (GNU Compiler Collection)", "_alpine-linux_"),
+        new Rule(COMPILER, "gcc (GNU Compiler Collection)", "_linux_"),
+        new Rule(COMPILER, "microsoft (Microsoft Visual Studio 2022)", "64_windows_"),
+        new Rule(COMPILER, "microsoft (Microsoft Visual Studio 2022)", "_x86-32_windows_"),
+        // NOTE: mac/x64 native builds >=11 were using "clang (clang/LLVM from Xcode 10.3)"
+        new Rule(COMPILER, "clang (clang/LLVM)", "_mac_", "_x64_").from(8).upTo(8),
+        new Rule(COMPILER, "clang (clang/LLVM from Xcode 15.2)", "_mac_"),
+        new Rule(COMPILER, "gcc (GNU Compiler Collection)"),
+
+        new Rule(GLIBC, "", "_alpine-linux_"),
+        new Rule(GLIBC, "2.27", "_linux_", "_riscv64_"), // Fedora 28
+        new Rule(GLIBC, "2.12", "_linux_", "x64").upTo(19), // CentOS6
+        new Rule(GLIBC, "2.23", "_linux_", "_arm_"), // Ubuntu 16.04
+        new Rule(GLIBC, "2.17", "_linux_"), // CentOS7
+        new Rule(GLIBC, "", "linux_"),
+
+        new Rule(GCC, "10.3.1", "_alpine-linux_"),
+        new Rule(GCC, "14.2.0", "_linux_", "_riscv64_"),
+        new Rule(GCC, "14.2.0", "_linux_").from(25),
+        new Rule(GCC, "11.3.0", "_linux_").from(20),
+        new Rule(GCC, "10.3.0", "_linux_").from(17).upTo(17),
+        new Rule(GCC, "7.5.0", "_linux_").from(11).upTo(11),
+        new Rule(GCC, "7.5.0", "_linux_").from(8).upTo(8),
+        new Rule(GCC, "", "linux_"),
+
+        // ALSA version is determined by the devkit now, so a mismatch is only noted
+        new Rule(ALSA, "1.1.6", "_alpine-linux_").noteOnly(),
+        new Rule(ALSA, "1.1.1", "_linux_", "_riscv64_").noteOnly(),
+        new Rule(ALSA, "1.1.6", "_linux_", "_aarch64_").noteOnly(), // Linux/aarch64 uses CentOS7.6 devkit, not 7.9
+        new Rule(ALSA, "1.1.8", "_linux_").noteOnly(),
+        new Rule(ALSA, "").noteOnly());
+
+    private static final Map<String, String> LABELS = new LinkedHashMap<>();
+    static {
+        LABELS.put(GLIBC, "GLIBC version");
+        LABELS.put(GCC, "GCC version");
+        LABELS.put(COMPILER, "Compiler version");
+        LABELS.put(ALSA, "ALSA version");
+        LABELS.put(SCM_REF, "SCM_REF");
+    }
+
+    private TemurinSBOMValidator() {
+    }
+
+    /**
+     * Main entry.
+     * @param args Arguments for sbom validation.
+     */
+    public static void main(final String[] args) {
+        String fileName = null;
+        String majorVersion = null;
+        String scmRef = "";
+        String reportFile = null;
+        String factsFile = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--jsonFile")) {
+                fileName = args[++i];
+            } else if (args[i].equals("--majorVersion")) {
+                majorVersion = args[++i];
+            } else if (args[i].equals("--scmRef")) {
+                scmRef = args[++i];
+            } else if (args[i].equals("--report")) {
+                reportFile = args[++i];
+            } else if (args[i].equals("--facts")) {
+                factsFile = args[++i];
+            }
+        }
+        if (fileName == null || majorVersion == null || !majorVersion.matches("[1-9][0-9]*")) {
+            System.out.println("Usage: TemurinSBOMValidator --jsonFile file --majorVersion n [--scmRef ref] [--report file] [--facts file]");
+            System.exit(1);
+        }
+
+        try {
+            Report report = validate(fileName, facts(Paths.get(fileName)), Integer.parseInt(majorVersion), scmRef);
+            report.print();
+            if (reportFile != null) {
+                MAPPER.writer(SerializationFeature.INDENT_OUTPUT).writeValue(new File(reportFile), report.toJson());
+            }
+            if (factsFile != null) {
+                writeFacts(Paths.get(factsFile), report.getFacts());
+            }
+            if (!report.passed()) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.out.println("ERROR: Unable to read " + fileName + ": " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes facts as NAME=value lines, as read by tooling/validateSBOMcontent.sh.
+     * @param file The facts file.
+     * @param facts The facts.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeFacts(final Path file, final Map<String, String> facts) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> fact : facts.entrySet()) {
+            sb.append(fact.getKey()).append('=').append(fact.getValue().replace('\n', ' ')).append('\n');
+        }
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks the facts of the SBOM against the rules for its file name and major version.
+     * @param fileName The SBOM file name, identifying its platform.
+     * @param sbom The parsed SBOM.
+     * @param majorVersion The JDK major version of the SBOM.
+     * @param expectedScmRef The expected SCM ref, or empty to skip the check.
+     * @return The report.
+     */
+    static Report validate(final String fileName, final JsonNode sbom, final int majorVersion, final String expectedScmRef) {
+        return validate(fileName, facts(sbom), majorVersion, expectedScmRef);
+    }
+
+    /**
+     * Checks the facts read from an SBOM against the rules for its file name and major version.
+     * @param fileName The SBOM file name, identifying its platform.
+     * @param facts The facts read from the SBOM.
+     * @param majorVersion The JDK major version of the SBOM.
+     * @param expectedScmRef The expected SCM ref, or empty to skip the check.
+     * @return The report.
+     */
+    static Report validate(final String fileName, final Map<String, String> facts, final int majorVersion, final String expectedScmRef) {
+        Report report = new Report(fileName, majorVersion, facts);
+        for (String fact : LABELS.keySet()) {
+            if (fact.equals(SCM_REF)) {
+                // Skip SCM check if the expected SCM ref is empty
+                if (!expectedScmRef.isEmpty()) {
+                    report.add(new Check(fact, expectedScmRef, facts.get(fact), false));
+                }
+                continue;
+            }
+            for (Rule rule : RULES) {
+                if (rule.fact.equals(fact) && rule.matches(fileName, majorVersion)) {
+                    report.add(new Check(fact, rule.expected, facts.get(fact), rule.note));
+                    break;
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Reads the facts to validate from the SBOM, in one pass over its tools and components.
+     * @param sbom The parsed SBOM.
+     * @return The facts, empty strings for facts not in the SBOM.
+     */
+    static Map<String, String> facts(final JsonNode sbom) {
+        FactsVisitor visitor = new FactsVisitor();
+        for (JsonNode tool : sbom.path("metadata").path("tools").path("components")) {
+            visitor.tool(tool);
+        }
+        for (JsonNode component : sbom.path("components")) {
+            visitor.component(component);
+        }
+        return visitor.facts();
+    }
+
+    /**
+     * Streams the facts to validate from the SBOM file, without loading the whole SBOM.
+     * @param file The JSON SBOM.
+     * @return The facts, empty strings for facts not in the SBOM.
+     * @throws IOException If the SBOM cannot be read.
+     */
+    static Map<String, String> facts(final Path file) throws IOException {
+        FactsVisitor visitor = new FactsVisitor();
+        TemurinSBOMStream.read(file, visitor);
+        return visitor.facts();
+    }
+
+    /**
+     * Indexes tool versions and the properties of the first component (the JDK) and of
+     * all components, by name.
+     */
+    private static final class FactsVisitor implements TemurinSBOMStream.Visitor {
+        private final Map<String, String> tools = new LinkedHashMap<>();
+        private final Map<String, String> first = new LinkedHashMap<>();
+        private final Map<String, String> all = new LinkedHashMap<>();
+        private boolean firstComponent = true;
+
+        @Override
+        public void tool(final JsonNode tool) {
+            tools.putIfAbsent(tool.path("name").asText(), tool.path("version").asText());
+        }
+
+        @Override
+        public void component(final JsonNode component) {
+            for (JsonNode property : component.path("properties")) {
+                String name = property.path("name").asText();
+                String value = property.path("value").asText();
+                if (firstComponent) {
+                    first.putIfAbsent(name, value);
+                }
+                all.putIfAbsent(name, value);
+            }
+            firstComponent = false;
+        }
+
+        Map<String, String> facts() {
+            Map<String, String> facts = new LinkedHashMap<>();
+            facts.put(GLIBC, lookup(tools, "GLIBC"));
+            facts.put(GCC, lookup(tools, "GCC"));
+            facts.put(BOOTJDK, lookup(tools, "BOOTJDK"));
+            facts.put(ALSA, lookup(tools, "ALSA").replaceFirst("^.*alsa-lib-", "").replace(".tar.bz2", ""));
+            facts.put(FREETYPE, lookup(tools, "FreeType"));
+            facts.put(COMPILER, toolchain(lookup(first, "Build Tools Summary")));
+            facts.put(SCM_REF, lookup(first, "SCM Ref"));
+            facts.put(OPENJDK_SOURCE_COMMIT, lookup(all, "OpenJDK Source Commit"));
+            facts.put(TEMURIN_BUILD_REF, lookup(all, "Temurin Build Ref"));
+            return facts;
+        }
+    }
+
+    // Value of the first name containing the key, as jq's select(.name|test(key))
+    private static String lookup(final Map<String, String> index, final String key) {
+        for (Map.Entry<String, String> entry : index.entrySet()) {
+            if (entry.getKey().contains(key)) {
+                return entry.getValue();
+            }
+        }
+        return "";
+    }
+
+    // The toolchain from the configure "Tools summary", e.g. "* Toolchain:      gcc (GNU Compiler Collection)"
+    private static String toolchain(final String summary) {
+        int start = summary.lastIndexOf("Toolchain:");
+        if (start < 0) {
+            return "";
+        }
+        String toolchain = summary.substring(start + "Toolchain:".length());
+        int end = toolchain.indexOf('\n');
+        return (end < 0 ? toolchain : toolchain.substring(0, end)).replaceFirst("\\s*\\*.*$", "").trim();
+    }
+
+    /**
+     * Expected value of a fact for SBOMs whose file name contains all patterns,
+     * within a major version range.
+     */
+    static final class Rule {
+        private final String fact;
+        private final String expected;
+        private final List<String> patterns;
+        private int minMajor = 0;
+        private int maxMajor = Integer.MAX_VALUE;
+        private boolean note = false;
+
+        Rule(final String factParam, final String expectedParam, final String... patternsParam) {
+            this.fact = factParam;
+            this.expected = expectedParam;
+            this.patterns = Arrays.asList(patternsParam);
+        }
+
+        Rule from(final int major) {
+            this.minMajor = major;
+            return this;
+        }
+
+        Rule upTo(final int major) {
+            this.maxMajor = major;
+            return this;
+        }
+
+        // A mismatch is reported, but does not fail validation
+        Rule noteOnly() {
+            this.note = true;
+            return this;
+        }
+
+        boolean matches(final String fileName, final int majorVersion) {
+            if (majorVersion < minMajor || majorVersion > maxMajor) {
+                return false;
+            }
+            for (String pattern : patterns) {
+                if (!fileName.contains(pattern)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * One fact checked against its expected value.
+     */
+    static final class Check {
+        private final String fact;
+        private final String expected;
+        private final String actual;
+        private final boolean note;
+
+        Check(final String factParam, final String expectedParam, final String actualParam, final boolean noteParam) {
+            this.fact = factParam;
+            this.expected = expectedParam;
+            this.actual = actualParam == null ? "" : actualParam;
+            this.note = noteParam;
+        }
+
+        boolean passed() {
+            return expected.equals(actual);
+        }
+
+        // PASS, FAIL, or NOTE for a mismatch that does not fail validation
+        String status() {
+            if (passed()) {
+                return "PASS";
+            }
+            return note ? "NOTE" : "FAIL";
+        }
+
+        String message() {
+            String label = LABELS.get(fact);
+            if (passed()) {
+                return label + " is " + actual;
+            } else if (note) {
+                return "NOTE: " + label + " not " + expected + " (SBOM has " + actual + ") - ignoring because "
+                    + fact + " version is determined by devkit now";
+            }
+            return "ERROR: " + label + " not " + expected + " (SBOM has " + actual + ")";
+        }
+    }
+
+    /**
+     * Outcome of validating one SBOM.
+     */
+    static final class Report {
+        private final String fileName;
+        private final int majorVersion;
+        private final Map<String, String> facts;
+        private final List<Check> checks = new ArrayList<>();
+
+        Report(final String fileNameParam, final int majorVersionParam, final Map<String, String> factsParam) {
+            this.fileName = fileNameParam;
+            this.majorVersion = majorVersionParam;
+            this.facts = factsParam;
+        }
+
+        void add(final Check check) {
+            checks.add(check);
+        }
+
+        String getFileName() {
+            return fileName;
+        }
+
+        Map<String, String> getFacts() {
+            return Collections.unmodifiableMap(facts);
+        }
+
+        List<Check> getChecks() {
+            return Collections.unmodifiableList(checks);
+        }
+
+        boolean passed() {
+            for (Check check : checks) {
+                if (check.status().equals("FAIL")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void print() {
+            System.out.println("SBOMFILE='" + fileName + "'");
+            System.out.println("MAJORVERSION='" + majorVersion + "'");
+            System.out.println("BOOTJDK is " + facts.get(BOOTJDK));
+            System.out.println("FREETYPE is " + facts.get(FREETYPE));
+            for (Check check : checks) {
+                System.out.println(check.message());
+            }
+            if (!passed()) {
+                System.out.println("ERROR: " + fileName + " failed content validation.");
+            }
+        }
+
+        Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("file", fileName);
+            json.put("majorVersion", majorVersion);
+            json.put("result", passed() ? "PASS" : "FAIL");
+            json.put("facts", facts);
+            List<Map<String, String>> results = new ArrayList<>();
+            for (Check check : checks) {
+                Map<String, String> result = new LinkedHashMap<>();
+                result.put("fact", check.fact);
+                result.put("expected", check.expected);
+                result.put("actual", check.actual);
+                result.put("status", check.status());
+                results.add(result);
+            }
+            json.put("checks", results);
+            return json;
+        }
+    }
+}
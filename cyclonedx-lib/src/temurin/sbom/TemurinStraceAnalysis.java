@@ -0,0 +1,483 @@
+/*
+ * ********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ********************************************************************************
+ */
+
+package temurin.sbom;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Adds the build dependencies found in the strace output of a build to the SBOM.
+ *
+ * All strace output files are read in parallel and the files opened or executed by the
+ * build are collected into one set. The owning OS packages of all files are then looked up
+ * in batches, and the files owned by no package are probed for a version. The results are
+ * added to the "Build Dependencies" formulation of the SBOM, which is read and written once.
+ *
+ * TemurinStraceAnalysis --straceDir dir --temurinBuildDir dir --bootJdk dir --buildOutputDir dir
+ *     --openjdkDir dir [--toolchainDir dir] [--packageIndex file | --packageOwners file]
+ *     (--jsonFile|--xmlFile) file [--verbose]
+ *
+ * The owning packages are looked up in a TemurinPackageIndex of the package database,
+ * kept across builds in the --packageIndex file if given. With --packageOwners they are
+ * read from "file=name version" lines instead.
+ */
+public final class TemurinStraceAnalysis {
+
+    private static final String FORMULA = "Build Dependencies";
+    private static final String PKG_COMPONENT = "Build tool package dependencies";
+    private static final String NON_PKG_COMPONENT = "Build tool non-package dependencies";
+    private static final long VERSION_TIMEOUT_SECONDS = 30;
+
+    // Ignore-patterns for strace files
+    private static final List<String> IGNORES = Arrays.asList(
+        "\\.gitconfig$",
+        "\\.java$",
+        "\\.d$",
+        "\\.o$",
+        "\\.d\\.targets$",
+        "\\+\\+\\+",
+        "\\-\\-\\-",
+        "^/dev/",
+        "^/proc/",
+        "^/sys/",
+        "^/tmp/");
+
+    private final Path straceDir;
+    private final String temurinBuildDir;
+    private final String bootJdk;
+    private final String toolchainDir;
+    private final Pattern ignore;
+    private final List<String> symLinkedRoots = new ArrayList<>();
+
+    private final Set<String> pkgs = new LinkedHashSet<>();
+    private final Set<String> nonPkgs = new LinkedHashSet<>();
+    private final List<String> errorPkgs = new ArrayList<>();
+
+    private TemurinStraceAnalysis(final Path straceDirParam, final String temurinBuildDirParam, final String bootJdkParam,
+                                  final String toolchainDirParam, final Pattern ignoreParam) {
+        this.straceDir = straceDirParam;
+        this.temurinBuildDir = temurinBuildDirParam;
+        this.bootJdk = bootJdkParam;
+        this.toolchainDir = toolchainDirParam;
+        this.ignore = ignoreParam;
+
+        // Check if /bin, /lib, /sbin are symlinks, as sometimes pkgs are installed under the symlink folder
+        for (String dir : new String[] {"/bin", "/lib", "/sbin"}) {
+            boolean symLink = !realPath(dir).equals(dir);
+            if (symLink) {
+                symLinkedRoots.add(dir);
+            }
+            System.out.println(dir + " is symlink: " + symLink);
+        }
+    }
+
+    /**
+     * Main entry.
+     * @param args Arguments for strace analysis.
+     */
+    public static void main(final String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        List<String> sbomArgs = new ArrayList<>();
+        List<String> names = Arrays.asList("--straceDir", "--temurinBuildDir", "--bootJdk", "--buildOutputDir",
+                                           "--openjdkDir", "--toolchainDir", "--packageOwners", "--packageIndex");
+        for (int i = 0; i < args.length; i++) {
+            if (names.contains(args[i]) && i + 1 < args.length) {
+                opts.put(args[i], args[++i]);
+            } else {
+                sbomArgs.add(args[i]);
+            }
+        }
+        for (String name : names.subList(0, 5)) {
+            if (!opts.containsKey(name)) {
+                System.out.println("ERROR: " + name + " not specified");
+                System.exit(1);
+            }
+        }
+        TemurinGenSBOM.ParsedArgs parsedArgs = TemurinGenSBOM.parseArgs(sbomArgs.toArray(new String[0]));
+        if (parsedArgs.getFileName() == null) {
+            System.out.println("ERROR: --jsonFile or --xmlFile not specified");
+            System.exit(1);
+        }
+        TemurinGenSBOM.configure(parsedArgs);
+
+        try {
+            String fileName = parsedArgs.getFileName();
+            if (TemurinSBOMJournal.exists(fileName)) {
+                throw new IllegalStateException(fileName + " has a pending journal, run --compact first");
+            }
+            TemurinPackageResolver resolver;
+            if (opts.containsKey("--packageOwners")) {
+                resolver = TemurinPackageResolver.fromFile(Paths.get(opts.get("--packageOwners")));
+            } else {
+                resolver = systemResolver(opts.get("--packageIndex"));
+            }
+
+            // Add build output and openjdk source folders to the ignore list, they are not dependencies
+            List<String> ignores = new ArrayList<>(IGNORES);
+            ignores.add("^" + Pattern.quote(opts.get("--buildOutputDir")));
+            ignores.add("^" + Pattern.quote(opts.get("--openjdkDir")));
+
+            // Strace output uses the real path of the bootjdk
+            String bootJdk = realPath(opts.get("--bootJdk"));
+            if (!bootJdk.equals(opts.get("--bootJdk"))) {
+                System.out.println("Resolving bootjdk '" + opts.get("--bootJdk") + "' sym link to '" + bootJdk + "'");
+            }
+            TemurinStraceAnalysis analysis = new TemurinStraceAnalysis(Paths.get(opts.get("--straceDir")),
+                opts.get("--temurinBuildDir"), bootJdk, opts.getOrDefault("--toolchainDir", ""),
+                Pattern.compile(String.join("|", ignores)));
+
+            TemurinSBOMIndex index = TemurinSBOMIndex.of(TemurinGenSBOM.readFile(fileName));
+            analysis.analyse(index, resolver);
+            TemurinGenSBOM.saveFile(index.getBom(), fileName);
+            analysis.printPackages();
+        } catch (Exception e) {
+            System.out.println("\nException: " + e);
+            System.exit(1);
+        }
+    }
+
+    // Index of the package database, cached in indexFile if given, or else the package manager queries
+    private static TemurinPackageResolver systemResolver(final String indexFile) throws IOException {
+        try {
+            long start = System.currentTimeMillis();
+            TemurinPackageIndex index = TemurinPackageIndex.forSystem(indexFile == null ? null : Paths.get(indexFile));
+            System.out.println("Package index of " + index.size() + " files ready in " + (System.currentTimeMillis() - start) + "ms");
+            return index;
+        } catch (IOException e) {
+            System.out.println("WARNING: Unable to index the package database, querying the package manager instead: " + e);
+            return TemurinCommandPackageResolver.forSystem();
+        }
+    }
+
+    // Adds the package and non-package build dependencies to the "Build Dependencies" formulation
+    private void analyse(final TemurinSBOMIndex index, final TemurinPackageResolver resolver) throws IOException {
+        TemurinGenSBOM.addFormulation(index, FORMULA);
+        TemurinGenSBOM.addFormulationComp(index, FORMULA, PKG_COMPONENT, null);
+        TemurinGenSBOM.addFormulationComp(index, FORMULA, NON_PKG_COMPONENT, null);
+
+        Set<String> allFiles = collectFiles();
+        for (String file : allFiles) {
+            System.out.println(file);
+        }
+
+        System.out.println("Processing found files to determine 'Package' versions...");
+        List<String> nonPkgFiles = processFiles(index, resolver, allFiles);
+        processNonPkgFiles(index, nonPkgFiles);
+        addDevKitInfo(index);
+    }
+
+    /**
+     * Reads all strace output files in parallel, collecting the absolute paths opened or
+     * executed successfully that are not ignored.
+     * @return The paths, sorted.
+     * @throws IOException If the strace output cannot be read.
+     */
+    Set<String> collectFiles() throws IOException {
+        List<Path> outputs;
+        try (Stream<Path> walk = Files.walk(straceDir)) {
+            outputs = walk.filter(p -> p.getFileName().toString().startsWith("outputFile") && Files.isRegularFile(p))
+                          .collect(Collectors.toList());
+        }
+        Set<String> files = ConcurrentHashMap.newKeySet();
+        try {
+            outputs.parallelStream().forEach(output -> readStraceFile(output, files));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new TreeSet<>(files);
+    }
+
+    // Adds the not ignored paths of one strace output file, each path is matched against the ignores once
+    private void readStraceFile(final Path output, final Set<String> files) {
+        Set<String> seen = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(output, StandardCharsets.ISO_8859_1)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains("ENOENT")) {
+                    continue;
+                }
+                String file = quoted(line);
+                if (file.startsWith("/") && seen.add(file) && !ignore.matcher(file).find()) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The first quoted string of the line, e.g. the path of open("/usr/bin/gcc", ...), or the whole line if unquoted
+    static String quoted(final String line) {
+        int start = line.indexOf('"');
+        if (start < 0) {
+            return line;
+        }
+        int end = line.indexOf('"', start + 1);
+        return end < 0 ? line.substring(start + 1) : line.substring(start + 1, end);
+    }
+
+    // Resolves the owning packages of all files in batches, returns the files owned by no package
+    private List<String> processFiles(final TemurinSBOMIndex index, final TemurinPackageResolver resolver,
+                                      final Set<String> allFiles) throws IOException {
+        // Resolved paths, ignoring any strace open on a directory: a pkg query on it, if it returns
+        // anything at all (and on Alpine it won't), lists the owning pkgs of the files within
+        List<String> resolved = new ArrayList<>();
+        for (String file : allFiles) {
+            String filePath = realPath(file);
+            if (Files.isDirectory(Paths.get(filePath))) {
+                System.out.println("Ignoring strace open on a directory " + filePath);
+                continue;
+            }
+            resolved.add(filePath);
+        }
+        Map<String, TemurinPackageResolver.Owner> owners = resolver.owners(new LinkedHashSet<>(resolved));
+
+        // bin, lib, sbin pkgs may be installed under the root symlink, eg. in Ubuntu 20.04
+        Map<String, String> aliases = new LinkedHashMap<>();
+        for (String filePath : resolved) {
+            if (!owners.containsKey(filePath)) {
+                String alias = rootAlias(filePath);
+                if (!alias.equals(filePath)) {
+                    aliases.put(filePath, alias);
+                }
+            }
+        }
+        Map<String, TemurinPackageResolver.Owner> aliasOwners = resolver.owners(new LinkedHashSet<>(aliases.values()));
+
+        List<String> nonPkgFiles = new ArrayList<>();
+        for (String file : resolved) {
+            String filePath = aliases.getOrDefault(file, file);
+            TemurinPackageResolver.Owner owner = owners.containsKey(file) ? owners.get(file) : aliasOwners.get(filePath);
+            if (ignore.matcher(filePath).find()) {
+                continue;
+            }
+            if (owner == null) {
+                nonPkgFiles.add(filePath);
+            } else if (pkgs.add("pkg: " + owner.getName() + " version: " + owner.getVersion())) {
+                // Make sure to only add unique packages to SBOM
+                TemurinGenSBOM.addFormulationCompProp(index, FORMULA, PKG_COMPONENT, owner.getName(), owner.getVersion());
+            }
+        }
+        return nonPkgFiles;
+    }
+
+    // /usr/bin/x -> /bin/x, /usr/lib/x -> /lib/x, /usr/sbin/x -> /sbin/x, where the root folder is a symlink
+    private String rootAlias(final String filePath) {
+        for (String dir : symLinkedRoots) {
+            if (filePath.startsWith("/usr" + dir)) {
+                return dir + filePath.substring(("/usr" + dir).length());
+            }
+        }
+        return filePath;
+    }
+
+    // Probes the files owned by no package for their version, in parallel, and adds them in order
+    private void processNonPkgFiles(final TemurinSBOMIndex index, final List<String> nonPkgFiles) throws IOException {
+        List<String> files = new ArrayList<>();
+        for (String npFile : nonPkgFiles) {
+            // Ensure we have the full real path name
+            String file = realPath(npFile);
+            if (file.startsWith(temurinBuildDir)
+                && (toolchainDir.isEmpty() || !file.startsWith(toolchainDir)) && !file.startsWith(bootJdk)) {
+                // not DevKit toolchain or bootjdk path within, so ignore as part of temurin-build
+                continue;
+            }
+            files.add(file);
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+
+        String bootJdkVersion = "";
+        for (String file : files) {
+            if (file.startsWith(bootJdk)) {
+                // Second line of "java -version", e.g. "OpenJDK Runtime Environment Temurin-21.0.4+7 (build 21.0.4+7-LTS)"
+                List<String> out = run(Arrays.asList(bootJdk + "/bin/java", "-version"), true);
+                bootJdkVersion = out.size() > 1 ? out.get(1) : "";
+                break;
+            }
+        }
+        String bootJdkLine = bootJdkVersion;
+        List<String> versions = TemurinParallel.map(files, Runtime.getRuntime().availableProcessors(), "probing versions",
+            file -> file.startsWith(bootJdk) ? bootJdkLine : probeVersion(file));
+        for (int i = 0; i < files.size(); i++) {
+            String version = versions.get(i);
+            String file = files.get(i);
+            if (!version.isEmpty()) {
+                // Make sure to only add unique packages to SBOM
+                if (nonPkgs.add(version)) {
+                    TemurinGenSBOM.addFormulationCompProp(index, FORMULA, NON_PKG_COMPONENT, version, version);
+                }
+            } else if (toolchainDir.isEmpty() || !file.startsWith(toolchainDir)) {
+                // Toolchain files are ignored, Toolchain compiler version and DevKit info are added separately
+                errorPkgs.add(file);
+            }
+        }
+    }
+
+    // Tries to find the program's version using possible --version or -version
+    static String probeVersion(final String file) throws IOException {
+        String version = firstLine(run(Arrays.asList(file, "--version"), false));
+        if (version.isEmpty()) {
+            version = firstLine(run(Arrays.asList(file, "-version", "dummy"), false));
+        }
+        if (version.isEmpty()) {
+            version = firstLine(withoutErrors(run(Arrays.asList(file, "--version", "dummy"), true)));
+        }
+        if (version.isEmpty()) {
+            version = firstLine(withoutErrors(run(Arrays.asList(file, "-version", "dummy"), true)));
+        }
+        if (version.contains("Is a directory")) {
+            version = "";
+        }
+        return version;
+    }
+
+    private static List<String> withoutErrors(final List<String> lines) {
+        return lines.stream()
+            .filter(l -> !l.contains("ermission denied") && !l.contains("not found") && !l.contains("error while loading"))
+            .collect(Collectors.toList());
+    }
+
+    private static String firstLine(final List<String> lines) {
+        return lines.isEmpty() ? "" : lines.get(0);
+    }
+
+    // Runs the program with no input, returning its stdout (and stderr if merged) lines, or none if it cannot run
+    private static List<String> run(final List<String> cmd, final boolean mergeStderr) throws IOException {
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.redirectInput(ProcessBuilder.Redirect.from(new File("/dev/null")));
+        if (mergeStderr) {
+            pb.redirectErrorStream(true);
+        } else {
+            pb.redirectError(ProcessBuilder.Redirect.to(new File("/dev/null")));
+        }
+        Process process;
+        try {
+            process = pb.start();
+        } catch (IOException e) {
+            // Not executable
+            return Collections.emptyList();
+        }
+        List<String> lines = new ArrayList<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    synchronized (lines) {
+                        lines.add(line);
+                    }
+                }
+            } catch (IOException e) {
+                // Process killed on timeout, keep what was read
+            }
+        });
+        reader.start();
+        try {
+            if (!process.waitFor(VERSION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            reader.join();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted running " + cmd.get(0), e);
+        }
+        synchronized (lines) {
+            return new ArrayList<>(lines);
+        }
+    }
+
+    // If toolchainDir is a DevKit then add info from devkit.info
+    private void addDevKitInfo(final TemurinSBOMIndex index) throws IOException {
+        Path devkitInfo = Paths.get(toolchainDir, "devkit.info");
+        if (toolchainDir.isEmpty() || !Files.isRegularFile(devkitInfo)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(devkitInfo, StandardCharsets.UTF_8);
+
+        String adoptiumDevkitVersion = devkitValue(lines, "ADOPTIUM_DEVKIT_RELEASE", "");
+        String target = devkitValue(lines, "ADOPTIUM_DEVKIT_TARGET", null);
+        if (target != null) {
+            adoptiumDevkitVersion = adoptiumDevkitVersion + "-" + target;
+        }
+        String devkitName = devkitValue(lines, "DEVKIT_NAME", "Unknown");
+
+        TemurinGenSBOM.addFormulationCompProp(index, FORMULA, NON_PKG_COMPONENT, "DEVKIT_NAME", devkitName);
+        nonPkgs.add("DevKit: " + devkitName);
+        if (!adoptiumDevkitVersion.isEmpty()) {
+            TemurinGenSBOM.addFormulationCompProp(index, FORMULA, NON_PKG_COMPONENT, "ADOPTIUM_DEVKIT", adoptiumDevkitVersion);
+            nonPkgs.add("DevKit Adoptium Version: " + adoptiumDevkitVersion);
+        }
+    }
+
+    // The value of the first "...KEY...=value" line of devkit.info
+    private static String devkitValue(final List<String> lines, final String key, final String missing) {
+        for (String line : lines) {
+            if (line.contains(key)) {
+                String[] fields = line.split("=", -1);
+                return fields.length > 1 ? fields[1] : "";
+            }
+        }
+        return missing;
+    }
+
+    private void printPackages() {
+        System.out.println("\nNon-Package Dependencies:");
+        nonPkgs.forEach(System.out::println);
+
+        System.out.println("\nPackage Dependencies:");
+        pkgs.forEach(System.out::println);
+
+        // If some packages cannot be identified then list them
+        if (!errorPkgs.isEmpty()) {
+            System.out.println("\nERROR: Some package versions cannot be identified:");
+            errorPkgs.forEach(System.out::println);
+        }
+    }
+
+    // Real path of the file, or the normalized path if it does not exist
+    private static String realPath(final String file) {
+        Path path = Paths.get(file);
+        try {
+            return path.toRealPath().toString();
+        } catch (IOException e) {
+            return path.normalize().toString();
+        }
+    }
+}
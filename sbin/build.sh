@@ -1144,23 +1144,35 @@ buildCyclonedxLib() {
   echo "Using CycloneDX local jar cache build option: ${localJarCacheOption}"
 
   JAVA_HOME=${javaHome} ant -f "${ANTBUILDFILE}" clean
-  JAVA_HOME=${javaHome} ant -f "${ANTBUILDFILE}" build "${localJarCacheOption}"
+  # appCDS also trains the AppCDS archive the SBOM tools start from, where the JDK supports it (13+)
+  JAVA_HOME=${javaHome} ant -f "${ANTBUILDFILE}" build appCDS "${localJarCacheOption}"
 }
 
 # get the classpath to run the CycloneDX java app TemurinGenSBOM
+# The AppCDS archive is only used with this classpath, keep it in step with cds.classpath in cyclonedx-lib/build.xml
 getCyclonedxClasspath() {
 
   local CYCLONEDB_JAR_DIR="${CYCLONEDB_DIR}/build/jar"
 
-  local classpath="${CYCLONEDB_JAR_DIR}/temurin-gen-sbom.jar:${CYCLONEDB_JAR_DIR}/cyclonedx-core-java.jar:${CYCLONEDB_JAR_DIR}/jackson-core.jar:${CYCLONEDB_JAR_DIR}/jackson-dataformat-xml.jar:${CYCLONEDB_JAR_DIR}/jackson-databind.jar:${CYCLONEDB_JAR_DIR}/jackson-annotations.jar:${CYCLONEDB_JAR_DIR}/json-schema-validator.jar:${CYCLONEDB_JAR_DIR}/commons-codec.jar:${CYCLONEDB_JAR_DIR}/commons-io.jar:${CYCLONEDB_JAR_DIR}/github-package-url.jar:${CYCLONEDB_JAR_DIR}/commons-collections4.jar:${CYCLONEDB_JAR_DIR}/stax2-api.jar:${CYCLONEDB_JAR_DIR}/woodstox-core.jar:${CYCLONEDB_JAR_DIR}/commons-lang3.jar"
+  local classpath="${CYCLONEDB_JAR_DIR}/temurin-gen-sbom.jar:${CYCLONEDB_JAR_DIR}/cyclonedx-core-java.jar:${CYCLONEDB_JAR_DIR}/jackson-core.jar:${CYCLONEDB_JAR_DIR}/jackson-dataformat-xml.jar:${CYCLONEDB_JAR_DIR}/jackson-dataformat-smile.jar:${CYCLONEDB_JAR_DIR}/jackson-databind.jar:${CYCLONEDB_JAR_DIR}/jackson-annotations.jar:${CYCLONEDB_JAR_DIR}/json-schema-validator.jar:${CYCLONEDB_JAR_DIR}/commons-codec.jar:${CYCLONEDB_JAR_DIR}/commons-io.jar:${CYCLONEDB_JAR_DIR}/github-package-url.jar:${CYCLONEDB_JAR_DIR}/commons-collections4.jar:${CYCLONEDB_JAR_DIR}/stax2-api.jar:${CYCLONEDB_JAR_DIR}/woodstox-core.jar:${CYCLONEDB_JAR_DIR}/commons-lang3.jar:${CYCLONEDB_JAR_DIR}/temurin-gen-cdxa.jar"
+  # The signing tool is only on the classpath when it has been built, "ant build appCDS" does not build it
+  local optionalJars=()
+  local jarfile
+  for jarfile in "${CYCLONEDB_JAR_DIR}/temurin-sign-sbom.jar" "${CYCLONEDB_JAR_DIR}/webpki.org-libext-1.00.jar"; do
+    if [ -f "${jarfile}" ]; then
+      optionalJars+=("${jarfile}")
+      classpath+=":${jarfile}"
+    fi
+  done
   if [[ "$OSTYPE" == "cygwin" ]] || [[ "$OSTYPE" == "msys" ]]; then
     classpath=""
     for jarfile in "${CYCLONEDB_JAR_DIR}/temurin-gen-sbom.jar" "${CYCLONEDB_JAR_DIR}/cyclonedx-core-java.jar" \
-      "${CYCLONEDB_JAR_DIR}/jackson-core.jar" "${CYCLONEDB_JAR_DIR}/jackson-dataformat-xml.jar" \
+      "${CYCLONEDB_JAR_DIR}/jackson-core.jar" "${CYCLONEDB_JAR_DIR}/jackson-dataformat-xml.jar" "${CYCLONEDB_JAR_DIR}/jackson-dataformat-smile.jar" \
       "${CYCLONEDB_JAR_DIR}/jackson-databind.jar" "${CYCLONEDB_JAR_DIR}/jackson-annotations.jar" \
       "${CYCLONEDB_JAR_DIR}/json-schema-validator.jar" "${CYCLONEDB_JAR_DIR}/commons-codec.jar" "${CYCLONEDB_JAR_DIR}/commons-io.jar" \
       "${CYCLONEDB_JAR_DIR}/github-package-url.jar" "${CYCLONEDB_JAR_DIR}/commons-collections4.jar" \
-      "${CYCLONEDB_JAR_DIR}/stax2-api.jar" "${CYCLONEDB_JAR_DIR}/woodstox-core.jar" "${CYCLONEDB_JAR_DIR}/commons-lang3.jar";
+      "${CYCLONEDB_JAR_DIR}/stax2-api.jar" "${CYCLONEDB_JAR_DIR}/woodstox-core.jar" "${CYCLONEDB_JAR_DIR}/commons-lang3.jar" \
+      "${CYCLONEDB_JAR_DIR}/temurin-gen-cdxa.jar" ${optionalJars[@]+"${optionalJars[@]}"};
     do
       classpath+=$(cygpath -w "${jarfile}")";"
     done
@@ -1185,6 +1197,14 @@ generateSBoM() {
   buildCyclonedxLib "${javaHome}"
   # classpath to run java app TemurinGenSBOM
   local classpath="$(getCyclonedxClasspath)"
+  # Start the SBOM tools from the AppCDS archive, when the JDK could build one
+  local cdsArchive="${CYCLONEDB_DIR}/build/jar/temurin-sbom.jsa"
+  if [ -f "${cdsArchive}" ]; then
+    if [[ "$OSTYPE" == "cygwin" ]] || [[ "$OSTYPE" == "msys" ]]; then
+      cdsArchive=$(cygpath -w "${cdsArchive}")
+    fi
+    export SBOM_CDS_ARCHIVE="${cdsArchive}"
+  fi
 
   local sbomTargetName=$(getTargetFileNameForComponent "sbom")
   # Remove the tarball / zip extension from the name to be used for the SBOM
@@ -1200,6 +1220,13 @@ generateSBoM() {
   # Clean any old json
   rm -f "${sbomJson}"
 
+  # With SBOM_SESSION=true the SBOM is built in memory by a TemurinSBOMSession (JDK 16+, not on Windows)
+  if [ "${SBOM_SESSION:-false}" == "true" ] && [[ "$OSTYPE" != "cygwin" ]] && [[ "$OSTYPE" != "msys" ]]; then
+    if ! startSBOMSession "${javaHome}" "${classpath}" "${sbomJson}" "${TMPDIR:-/tmp}/temurin-sbom-$$.sock"; then
+      echo "No SBOM session, updating ${sbomJson} directly"
+    fi
+  fi
+
   local fullVer=$(cat "${BUILD_CONFIG[WORKSPACE_DIR]}/${BUILD_CONFIG[TARGET_DIR]}/metadata/productVersion.txt")
   local fullVerOutput=$(cat "${BUILD_CONFIG[WORKSPACE_DIR]}/${BUILD_CONFIG[TARGET_DIR]}/metadata/productVersionOutput.txt")
 
@@ -1305,6 +1332,7 @@ generateSBoM() {
 
   # add individual components that have been generated in this build
   local components=("JDK" "JRE" "SOURCES" "STATIC-LIBS" "DEBUGIMAGE" "TESTIMAGE")
+  local componentHashFiles=()
   for component in "${components[@]}"
   do
     local componentLowerCase=$(echo "${component}" | tr '[:upper:]' '[:lower:]')
@@ -1332,13 +1360,11 @@ generateSBoM() {
       continue
     fi
 
-    local sha=$(sha256File "${archiveFile}")
-
     # Create JDK Component
     addSBOMComponent "${javaHome}" "${classpath}" "${sbomJson}" "${componentName}" "${fullVer}" "${BUILD_CONFIG[BUILD_VARIANT]^} ${component} Component"
 
-    # Add SHA256 hash for the component
-    addSBOMComponentHash "${javaHome}" "${classpath}" "${sbomJson}" "${componentName}" "${sha}"
+    # SHA256 hash for the component, digested together with the other archives after this loop
+    componentHashFiles+=("${componentName}=$(joinPathOS ${BUILD_CONFIG[WORKSPACE_DIR]} ${BUILD_CONFIG[TARGET_DIR]} ${archiveName})")
 
     # Below add different properties to JDK component
     # Add target archive name as JDK Component Property
@@ -1385,6 +1411,24 @@ generateSBoM() {
 
   done
 
+  # Add the SHA256 hashes of all component archives, digested in parallel in one JVM
+  if [ ${#componentHashFiles[@]} -gt 0 ]; then
+    addSBOMComponentHashes "${javaHome}" "${classpath}" "${sbomJson}" "${componentHashFiles[@]}"
+  fi
+
+  # Write the SBOM of the session before the file is used
+  if ! stopSBOMSession "${javaHome}" "${classpath}"; then
+    echo "Failed to write the SBOM ${sbomJson} from its session, exiting"
+    exit 2
+  fi
+
+  # With SBOM_JOURNAL=true the commands above were only journaled, write the SBOM json file from them
+  if [ "${SBOM_JOURNAL:-false}" == "true" ]; then
+    if ! compactSBOMFile "${javaHome}" "${classpath}" "${sbomJson}"; then
+      echo "Failed to write the SBOM ${sbomJson} from its journal, exiting"
+      exit 2
+    fi
+  fi
 
   if [[ "${BUILD_CONFIG[ENABLE_SBOM_STRACE]}" == "true" ]]; then
     echo "Executing Strace Analysis Script to add dependencies to the SBOM"
@@ -1430,6 +1474,9 @@ generateSBoM() {
     bash "$SCRIPT_DIR/../tooling/strace_analysis.sh" "${straceOutputDir}" "${temurinBuildDir}" "${bootjdk_path}" "${classpath}" "${sbomJson}" "${buildOutputDir}" "${openjdkSrcDir}" "${javaHome}" "${toolchain_path}"
   fi
 
+  # The SBOM is complete, do not leave the binary snapshot of SBOM_SNAPSHOT=true next to it in the archive
+  removeSBOMSnapshot "${sbomJson}"
+
   # Print SBOM location
   echo "CycloneDX SBOM has been created in ${sbomJson}"
 }
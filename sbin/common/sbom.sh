@@ -12,12 +12,145 @@
 # SPDX-License-Identifier: Apache-2.0
 # ********************************************************************************
 
+# Run java for the cyclonedx-lib tools, starting from the AppCDS archive in SBOM_CDS_ARCHIVE when
+# there is one (see the appCDS target of cyclonedx-lib/build.xml, needs JDK 13+). A JVM that cannot
+# use the archive, e.g. of another JDK or classpath, runs as without it, so the CDS log is off.
+runSBOMJava() {
+  local javaHome="${1}"
+  shift
+  if [ -n "${SBOM_CDS_ARCHIVE:-}" ] && [ -f "${SBOM_CDS_ARCHIVE}" ]; then
+    "${javaHome}"/bin/java -XX:SharedArchiveFile="${SBOM_CDS_ARCHIVE}" -Xlog:cds=off,cds+dynamic=off "$@"
+  else
+    "${javaHome}"/bin/java "$@"
+  fi
+}
+
+# runSBOMJava for a JVM started in the background: replaces the background subshell, so $! is the JVM
+execSBOMJava() {
+  local javaHome="${1}"
+  shift
+  if [ -n "${SBOM_CDS_ARCHIVE:-}" ] && [ -f "${SBOM_CDS_ARCHIVE}" ]; then
+    exec "${javaHome}"/bin/java -XX:SharedArchiveFile="${SBOM_CDS_ARCHIVE}" -Xlog:cds=off,cds+dynamic=off "$@"
+  fi
+  exec "${javaHome}"/bin/java "$@"
+}
+
+# Run a TemurinGenSBOM command, or forward it to the SBOM session started by startSBOMSession.
+# With SBOM_SNAPSHOT=true each call loads the SBOM from the binary snapshot written by the previous one.
+# With SBOM_JOURNAL=true each call only appends to the SBOM's journal, see compactSBOMFile.
+runTemurinGenSBOM() {
+  local javaHome="${1}"
+  local classpath="${2}"
+  shift 2
+  if [ -n "${SBOM_SESSION_SOCKET:-}" ]; then
+    sendSBOMSessionRequest "${javaHome}" "${classpath}" "$@"
+  elif [ "${SBOM_JOURNAL:-false}" == "true" ]; then
+    runSBOMJava "${javaHome}" -cp "${classpath}" temurin.sbom.TemurinGenSBOM --journal "$@"
+  elif [ "${SBOM_SNAPSHOT:-false}" == "true" ]; then
+    runSBOMJava "${javaHome}" -cp "${classpath}" temurin.sbom.TemurinGenSBOM --snapshot "$@"
+  else
+    runSBOMJava "${javaHome}" -cp "${classpath}" temurin.sbom.TemurinGenSBOM "$@"
+  fi
+}
+
+# Send one request to the SBOM session: the arguments as NUL terminated strings, answered with
+# a single "OK" or "ERROR: ..." line. socat or python3 send it without starting a JVM, which
+# is what a session saves; the TemurinSBOMSession client is only used without either.
+sendSBOMSessionRequest() {
+  local javaHome="${1}"
+  local classpath="${2}"
+  shift 2
+  local response
+  if command -v socat >/dev/null 2>&1; then
+    # -t: how long to wait for the response once the request is sent
+    response=$(printf '%s\0' "$@" | socat -t 600 - UNIX-CONNECT:"${SBOM_SESSION_SOCKET}")
+  elif command -v python3 >/dev/null 2>&1; then
+    response=$(printf '%s\0' "$@" | python3 -c '
+import socket, sys
+client = socket.socket(socket.AF_UNIX, socket.SOCK_STREAM)
+client.connect(sys.argv[1])
+client.sendall(sys.stdin.buffer.read())
+client.shutdown(socket.SHUT_WR)
+sys.stdout.write(b"".join(iter(lambda: client.recv(8192), b"")).decode("utf-8"))
+' "${SBOM_SESSION_SOCKET}")
+  else
+    runSBOMJava "${javaHome}" -cp "${classpath}" temurin.sbom.TemurinSBOMSession --socket "${SBOM_SESSION_SOCKET}" "$@"
+    return
+  fi
+  if [[ "${response}" != OK* ]]; then
+    echo "${response:-ERROR: No response from the SBOM session on ${SBOM_SESSION_SOCKET}}"
+    return 1
+  fi
+}
+
+# Replay the journal written with SBOM_JOURNAL=true and write the SBOM json file once
+compactSBOMFile() {
+  local javaHome="${1}"
+  local classpath="${2}"
+  local jsonFile="${3}"
+  runSBOMJava "${javaHome}" -cp "${classpath}" temurin.sbom.TemurinGenSBOM --compact --jsonFile "${jsonFile}"
+}
+
+# Remove the binary snapshot that SBOM_SNAPSHOT=true leaves next to the SBOM json file
+removeSBOMSnapshot() {
+  local jsonFile="${1}"
+  rm -f "$(dirname "${jsonFile}")/.$(basename "${jsonFile}").snapshot"
+}
+
+# Start a TemurinSBOMSession which keeps the SBOM in memory, so the functions below
+# no longer re-read and re-write the whole file, nor start a JVM, on every call (requires JDK 16+)
+startSBOMSession() {
+  local javaHome="${1}"
+  local classpath="${2}"
+  local jsonFile="${3}"
+  local socket="${4}"
+  rm -f "${socket}"
+  execSBOMJava "${javaHome}" -cp "${classpath}" temurin.sbom.TemurinSBOMSession --serve --socket "${socket}" --jsonFile "${jsonFile}" &
+  local pid=$!
+  local wait=0
+  while [ ! -S "${socket}" ]; do
+    # An older JDK has no TemurinSBOMSession, or no Unix domain sockets, and exits straight away
+    if ! kill -0 "${pid}" 2>/dev/null || [ "${wait}" -ge 30 ]; then
+      kill "${pid}" 2>/dev/null || true
+      echo "SBOM session failed to start on ${socket}"
+      return 1
+    fi
+    sleep 1
+    wait=$((wait+1))
+  done
+  # Stop the session should this shell exit without stopSBOMSession, e.g. on a failed command
+  local shellPid=$$
+  ( while kill -0 "${shellPid}" 2>/dev/null && kill -0 "${pid}" 2>/dev/null; do sleep 5; done; kill "${pid}" 2>/dev/null || true ) &
+  export SBOM_SESSION_SOCKET="${socket}"
+  export SBOM_SESSION_PID="${pid}"
+}
+
+# Write the session SBOM to disk and stop the session, failing if the SBOM could not be written
+stopSBOMSession() {
+  local javaHome="${1}"
+  local classpath="${2}"
+  if [ -z "${SBOM_SESSION_SOCKET:-}" ]; then
+    return 0
+  fi
+  local rc=0
+  sendSBOMSessionRequest "${javaHome}" "${classpath}" --shutdown || rc=$?
+  if [ -n "${SBOM_SESSION_PID:-}" ]; then
+    if [ "${rc}" -ne 0 ]; then
+      kill "${SBOM_SESSION_PID}" 2>/dev/null || true
+    fi
+    wait "${SBOM_SESSION_PID}" 2>/dev/null || true
+    unset SBOM_SESSION_PID
+  fi
+  unset SBOM_SESSION_SOCKET
+  return "${rc}"
+}
+
 # Create a default SBOM json file: sbomJson
 createSBOMFile() {
   local javaHome="${1}"
   local classpath="${2}"
   local jsonFile="${3}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --createNewSBOM --jsonFile "${jsonFile}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --createNewSBOM --jsonFile "${jsonFile}"
 }
 
 signSBOMFile() {
@@ -25,15 +158,16 @@ signSBOMFile() {
   local classpath="${2}"
   local jsonFile="${3}"
   local privateKeyFile="${4}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinSignSBOM --signSBOM --jsonFile "${jsonFile}" --privateKeyFile "${privateKeyFile}"
+  runSBOMJava "${javaHome}" -cp "${classpath}" temurin.sbom.TemurinSignSBOM --signSBOM --jsonFile "${jsonFile}" --privateKeyFile "${privateKeyFile}"
 }
 
+# Verify the signature of one SBOM, straight from its bytes
 verifySBOMSignature() {
   local javaHome="${1}"
   local classpath="${2}"
   local jsonFile="${3}"
   local publicKeyFile="${4}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinSignSBOM --verifySBOMSignature --jsonFile "${jsonFile}" --publicKeyFile "${publicKeyFile}"
+  runSBOMJava "${javaHome}" -cp "${classpath}" temurin.sbom.TemurinSignSBOM --verifySignatures --jsonFile "${jsonFile}" --publicKeyFile "${publicKeyFile}"
 }
 
 # Set basic SBOM metadata with timestamp, authors, manufacture to ${sbomJson}
@@ -41,7 +175,7 @@ addSBOMMetadata() {
   local javaHome="${1}"
   local classpath="${2}"
   local jsonFile="${3}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addMetadata --jsonFile "${jsonFile}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addMetadata --jsonFile "${jsonFile}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#metadata
@@ -55,7 +189,7 @@ addSBOMMetadataProperty() {
   if [ -z "${value}" ]; then
     value="N.A"
   fi
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addMetadataProp --jsonFile "${jsonFile}" --name "${name}" --value "${value}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addMetadataProp --jsonFile "${jsonFile}" --name "${name}" --value "${value}"
 }
 
 # Set basic SBoM formulation
@@ -64,7 +198,7 @@ addSBOMFormulation() {
   local classpath="${2}"
   local jsonFile="${3}"
   local formulaName="${4}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addFormulation --formulaName "${formulaName}" --jsonFile "${jsonFile}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addFormulation --formulaName "${formulaName}" --jsonFile "${jsonFile}"
 }
 
 addSBOMFormulationComp() {
@@ -73,7 +207,7 @@ addSBOMFormulationComp() {
   local jsonFile="${3}"
   local formulaName="${4}"
   local name="${5}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addFormulationComp --jsonFile "${jsonFile}" --formulaName "${formulaName}" --name "${name}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addFormulationComp --jsonFile "${jsonFile}" --formulaName "${formulaName}" --name "${name}"
 }  
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#formulation
@@ -86,7 +220,7 @@ addSBOMFormulationComponentProperty() {
   local compName="${5}"
   local name="${6}"
   local value="${7}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addFormulationCompProp --jsonFile "${jsonFile}" --formulaName "${formulaName}" --compName "${compName}" --name "${name}" --value "${value}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addFormulationCompProp --jsonFile "${jsonFile}" --formulaName "${formulaName}" --compName "${compName}" --name "${name}" --value "${value}"
 }
 
 
@@ -104,7 +238,7 @@ addSBOMMetadataPropertyFromFile() {
         value=$(cat "${propFile}")
       fi
   fi
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addMetadataProp --jsonFile "${jsonFile}" --name "${name}" --value "${value}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addMetadataProp --jsonFile "${jsonFile}" --name "${name}" --value "${value}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#metadata_tools
@@ -118,7 +252,7 @@ addSBOMMetadataTools() {
   if [ -z "${version}" ]; then
     version="N.A"
   fi
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addMetadataTools --jsonFile "${jsonFile}" --tool "${tool}" --version "${version}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addMetadataTools --jsonFile "${jsonFile}" --tool "${tool}" --version "${version}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#metadata_component
@@ -131,7 +265,7 @@ addSBOMMetadataComponent() {
   local type="${5}"
   local version="${6}"
   local description="${7}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addMetadataComponent --jsonFile "${jsonFile}" --name "${name}"  --type "${type}" --version "${version}" --description "${description}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addMetadataComponent --jsonFile "${jsonFile}" --name "${name}"  --type "${type}" --version "${version}" --description "${description}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#components
@@ -143,7 +277,7 @@ addSBOMComponent(){
   local compName="${4}"
   local version="${5}"
   local description="${6}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addComponent --jsonFile "${jsonFile}" --compName "${compName}" --version "${version}" --description "${description}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addComponent --jsonFile "${jsonFile}" --compName "${compName}" --version "${version}" --description "${description}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#components
@@ -158,12 +292,12 @@ addSBOMComponentFromFile() {
   local name="${6}"
   local propFile="${7}"
   # always create component in sbom
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addComponent --jsonFile "${jsonFile}" --compName "${compName}" --description "${description}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addComponent --jsonFile "${jsonFile}" --compName "${compName}" --description "${description}"
   local value="N.A" # default set to "N.A" as value for variant does not have $propFile generated in prepareWorkspace.sh
   if [ -e "${propFile}" ]; then
       value=$(cat "${propFile}")
   fi
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addComponentProp --jsonFile "${jsonFile}" --compName "${compName}" --name "${name}" --value "${value}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addComponentProp --jsonFile "${jsonFile}" --compName "${compName}" --name "${name}" --value "${value}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#components_items_hashes
@@ -174,7 +308,25 @@ addSBOMComponentHash() {
   local jsonFile="${3}"
   local compName="${4}"
   local hash="${5}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addComponentHash --jsonFile "${jsonFile}" --compName "${compName}" --hash "${hash}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addComponentHash --jsonFile "${jsonFile}" --compName "${compName}" --hash "${hash}"
+}
+
+# Ref: https://cyclonedx.org/docs/1.4/json/#components_items_hashes
+# Digest the given files, passed as "<compName>=<file>", and add their sha256 hashes to the given SBOM Components
+addSBOMComponentHashes() {
+  local javaHome="${1}"
+  local classpath="${2}"
+  local jsonFile="${3}"
+  shift 3
+  if [ $# -eq 0 ]; then
+    return
+  fi
+  local hashFileArgs=()
+  local hashFile
+  for hashFile in "$@"; do
+    hashFileArgs+=(--hashFile "${hashFile}")
+  done
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --hashFiles --jsonFile "${jsonFile}" "${hashFileArgs[@]}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#components_items_properties
@@ -186,7 +338,7 @@ addSBOMComponentProperty() {
   local compName="${4}"
   local name="${5}"
   local value="${6}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addComponentProp --jsonFile "${jsonFile}" --compName "${compName}" --name "${name}" --value "${value}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addComponentProp --jsonFile "${jsonFile}" --compName "${compName}" --name "${name}" --value "${value}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.4/json/#components_items_properties
@@ -201,7 +353,7 @@ addSBOMComponentPropertyFromFile() {
   local value="N.A"
   if [ -e "${propFile}" ]; then
       value=$(cat "${propFile}")
-      "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addComponentProp --jsonFile "${jsonFile}" --compName "${compName}" --name "${name}" --value "${value}"
+      runTemurinGenSBOM "${javaHome}" "${classpath}" --addComponentProp --jsonFile "${jsonFile}" --compName "${compName}" --name "${name}" --value "${value}"
   fi
 }
 
@@ -216,7 +368,7 @@ addSBOMWorkflow() {
   local workflowUid="${6}"
   local workflowName="${7}"
   local taskTypes="${8}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addWorkflow --jsonFile "${jsonFile}" --formulaName "${formulaName}" --workflowRef "${workflowRef}" --workflowUid "${workflowUid}" --workflowName "${workflowName}" --taskTypes "${taskTypes}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addWorkflow --jsonFile "${jsonFile}" --formulaName "${formulaName}" --workflowRef "${workflowRef}" --workflowUid "${workflowUid}" --workflowName "${workflowName}" --taskTypes "${taskTypes}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.6/json/#formulation_items_workflows_items_steps
@@ -229,7 +381,7 @@ addSBOMWorkflowStep() {
   local workflowRef="${5}"
   local workflowStepName="${6}"
   local description="${7}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addWorkflowStep --jsonFile "${jsonFile}" --formulaName "${formulaName}" --workflowRef "${workflowRef}" --workflowStepName "${workflowStepName}" --description "${description}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addWorkflowStep --jsonFile "${jsonFile}" --formulaName "${formulaName}" --workflowRef "${workflowRef}" --workflowStepName "${workflowStepName}" --description "${description}"
 }
 
 # Ref: https://cyclonedx.org/docs/1.6/json/#formulation_items_workflows_items_steps_items_commands
@@ -242,5 +394,5 @@ addSBOMWorkflowStepCmd() {
   local workflowRef="${5}"
   local workflowStepName="${6}"
   local executed="${7}"
-  "${javaHome}"/bin/java -cp "${classpath}" temurin.sbom.TemurinGenSBOM --addWorkflowStepCmd --jsonFile "${jsonFile}" --formulaName "${formulaName}" --workflowRef "${workflowRef}" --workflowStepName "${workflowStepName}" --executed "${executed}"
+  runTemurinGenSBOM "${javaHome}" "${classpath}" --addWorkflowStepCmd --jsonFile "${jsonFile}" --formulaName "${formulaName}" --workflowRef "${workflowRef}" --workflowStepName "${workflowStepName}" --executed "${executed}"
 }
\ No newline at end of file
@@ -400,17 +400,33 @@ verify_gcc_version() {
 
 ##########################################################################################################################
 #
-# Verify SBOM content using validateSBOM.sh (which uses validateSBOMcontent.sh and the cyclonedx cli tool).
+# Verify SBOM content using validateSBOM.sh (which uses validateSBOMcontent.sh and the cyclonedx cli tool),
+# or with TemurinSBOMBulkValidator followed by the network checks of validateSBOMcontent.sh.
 #
 ##########################################################################################################################
 verify_sboms() {
   local sbom
+  local facts_dir=""
 
   cd "${WORKSPACE}/staging/${TAG}" || exit 1
 
+  # With cyclonedx-lib available, validate the schema and content of all SBOMs of the release concurrently in one JVM
+  if [ -n "${SBOM_VALIDATOR_CLASSPATH:-}" ]; then
+    facts_dir="${WORKSPACE}/staging/${TAG}/sbom-facts"
+    "${JAVA_HOME:+${JAVA_HOME}/bin/}java" -cp "${SBOM_VALIDATOR_CLASSPATH}" temurin.sbom.TemurinSBOMBulkValidator \
+      --sbomDir "${WORKSPACE}/staging/${TAG}" --majorVersion "${MAJOR_VERSION}" --scmRef "${TAG}_adopt" \
+      --report "${WORKSPACE}/staging/${TAG}/sbom-validation.json" --factsDir "${facts_dir}"
+  fi
+
   # shellcheck disable=SC2010
   for sbom in $(ls -1 OpenJDK*-sbom*json | grep -v metadata); do
-    sh "${SCRIPT_DIR}/validateSBOM.sh" "${MAJOR_VERSION}" "${TAG}_adopt" "${WORKSPACE}/staging/${TAG}/${sbom}"
+    if [ -n "${facts_dir}" ]; then
+      # The source commit, FreeType and temurin-build SHA checks, from the facts of the bulk validation
+      SBOM_FACTS_FILE="${facts_dir}/${sbom}.facts" sh "${SCRIPT_DIR}/validateSBOMcontent.sh" \
+        "${WORKSPACE}/staging/${TAG}/${sbom}" "${MAJOR_VERSION}" "${TAG}_adopt"
+    else
+      sh "${SCRIPT_DIR}/validateSBOM.sh" "${MAJOR_VERSION}" "${TAG}_adopt" "${WORKSPACE}/staging/${TAG}/${sbom}"
+    fi
   done
 }
 
@@ -26,85 +26,120 @@ echo "SBOMFILE='$SBOMFILE'"
 echo "MAJORVERSION='$MAJORVERSION'"
 echo "EXPECTED_SCM_REF='$EXPECTED_SCM_REF'"
 
-GLIBC=$(   jq '.metadata.tools.components[] | select(.name|test("GLIBC"))    | .version' "$SBOMFILE" | tr -d \")
-GCC=$(     jq '.metadata.tools.components[] | select(.name|test("GCC"))      | .version' "$SBOMFILE" | tr -d \")
-BOOTJDK=$( jq '.metadata.tools.components[] | select(.name|test("BOOTJDK"))  | .version' "$SBOMFILE" | tr -d \")
-ALSA=$(    jq '.metadata.tools.components[] | select(.name|test("ALSA"))     | .version' "$SBOMFILE" | tr -d \" | sed -e 's/^.*alsa-lib-//' -e 's/\.tar.bz2//')
-FREETYPE=$(jq '.metadata.tools.components[] | select(.name|test("FreeType")) | .version' "$SBOMFILE" | tr -d \")
-COMPILER=$(jq '.components[0].properties[] | select(.name|test("Build Tools Summary")).value' "$SBOMFILE" | sed -e 's/^.*Toolchain: //g' -e 's/\ *\*.*//g')
-SCM_REF=$( jq '.components[0].properties[]  | select(.name|test("SCM Ref"))  | .value'   "$SBOMFILE" | tr -d \")
+# Reads the facts with jq and checks them against the expected values
+validateWithJq() {
+  GLIBC=$(   jq '.metadata.tools.components[] | select(.name|test("GLIBC"))    | .version' "$SBOMFILE" | tr -d \")
+  GCC=$(     jq '.metadata.tools.components[] | select(.name|test("GCC"))      | .version' "$SBOMFILE" | tr -d \")
+  BOOTJDK=$( jq '.metadata.tools.components[] | select(.name|test("BOOTJDK"))  | .version' "$SBOMFILE" | tr -d \")
+  ALSA=$(    jq '.metadata.tools.components[] | select(.name|test("ALSA"))     | .version' "$SBOMFILE" | tr -d \" | sed -e 's/^.*alsa-lib-//' -e 's/\.tar.bz2//')
+  FREETYPE=$(jq '.metadata.tools.components[] | select(.name|test("FreeType")) | .version' "$SBOMFILE" | tr -d \")
+  COMPILER=$(jq '.components[0].properties[] | select(.name|test("Build Tools Summary")).value' "$SBOMFILE" | sed -e 's/^.*Toolchain: //g' -e 's/\ *\*.*//g')
+  SCM_REF=$( jq '.components[0].properties[]  | select(.name|test("SCM Ref"))  | .value'   "$SBOMFILE" | tr -d \")
 
-EXPECTED_COMPILER="gcc (GNU Compiler Collection)"
-EXPECTED_GLIBC=""
-EXPECTED_GCC=""
-# [ "${MAJORVERSION}" = "17" ] && EXPECTED_GCC=10.3.0
-EXPECTED_ALSA=""
-if echo "$SBOMFILE" | grep _solaris_; then
-  EXPECTED_COMPILER="solstudio (Oracle Solaris Studio)"
-elif echo "$SBOMFILE" | grep _aix_; then
-  if [ "$MAJORVERSION" -le 21 ]; then
-    EXPECTED_COMPILER="xlc (IBM XL C/C++)"
-  else
-    EXPECTED_COMPILER="clang (clang/LLVM)"
-  fi
-elif echo "$SBOMFILE" | grep _alpine-linux_ > /dev/null; then
-  EXPECTED_ALSA=1.1.6
-  EXPECTED_GCC=10.3.1
-elif echo "$SBOMFILE" | grep _linux_; then
-  
-  if [ "$MAJORVERSION" -lt 20 ] && echo "$SBOMFILE" | grep x64 > /dev/null; then # CentOS6
-    EXPECTED_GLIBC=2.12
-  elif echo "$SBOMFILE" | grep _arm_ > /dev/null; then # Ubuntu 16.04
-    EXPECTED_GLIBC=2.23
-  else # CentOS7
-    EXPECTED_GLIBC=2.17
+  EXPECTED_COMPILER="gcc (GNU Compiler Collection)"
+  EXPECTED_GLIBC=""
+  EXPECTED_GCC=""
+  # [ "${MAJORVERSION}" = "17" ] && EXPECTED_GCC=10.3.0
+  EXPECTED_ALSA=""
+  if echo "$SBOMFILE" | grep _solaris_; then
+    EXPECTED_COMPILER="solstudio (Oracle Solaris Studio)"
+  elif echo "$SBOMFILE" | grep _aix_; then
+    if [ "$MAJORVERSION" -le 21 ]; then
+      EXPECTED_COMPILER="xlc (IBM XL C/C++)"
+    else
+      EXPECTED_COMPILER="clang (clang/LLVM)"
+    fi
+  elif echo "$SBOMFILE" | grep _alpine-linux_ > /dev/null; then
+    EXPECTED_ALSA=1.1.6
+    EXPECTED_GCC=10.3.1
+  elif echo "$SBOMFILE" | grep _linux_; then
+
+    if [ "$MAJORVERSION" -lt 20 ] && echo "$SBOMFILE" | grep x64 > /dev/null; then # CentOS6
+      EXPECTED_GLIBC=2.12
+    elif echo "$SBOMFILE" | grep _arm_ > /dev/null; then # Ubuntu 16.04
+      EXPECTED_GLIBC=2.23
+    else # CentOS7
+      EXPECTED_GLIBC=2.17
+    fi
+    [ "${MAJORVERSION}" = "8" ] && EXPECTED_GCC=7.5.0
+    [ "${MAJORVERSION}" = "11" ] && EXPECTED_GCC=7.5.0
+    [ "${MAJORVERSION}" = "17" ] && EXPECTED_GCC=10.3.0
+    [ "${MAJORVERSION}" -ge 20 ] && EXPECTED_GCC=11.3.0
+    [ "${MAJORVERSION}" -ge 25 ] && EXPECTED_GCC=14.2.0
+    EXPECTED_ALSA=1.1.8
+    if echo "$SBOMFILE" | grep _aarch64_ > /dev/null; then
+       EXPECTED_ALSA=1.1.6 # Linux/aarch64 uses CentOS7.6 devkit, not 7.9
+    fi
+    if echo "$SBOMFILE" | grep _riscv64_ > /dev/null; then
+      EXPECTED_GCC=14.2.0
+      EXPECTED_GLIBC=2.27 # Fedora 28
+      EXPECTED_ALSA=1.1.1
+    fi
+  #elif echo $SBOMFILE | grep _mac_; then
+  #  EXPECTED_COMPILER="clang (clang/LLVM from Xcode 10.3)"
+  elif echo "$SBOMFILE" | grep 64_windows_; then
+    EXPECTED_COMPILER="microsoft (Microsoft Visual Studio 2022)"
+  elif echo "$SBOMFILE" | grep _x86-32_windows_; then
+    EXPECTED_COMPILER="microsoft (Microsoft Visual Studio 2022)"
+  elif echo "$SBOMFILE" | grep _mac_; then
+    # NOTE: mac/x64 native builds >=11 were using "clang (clang/LLVM from Xcode 10.3)"
+    EXPECTED_COMPILER="clang (clang/LLVM from Xcode 15.2)"
+    # shellcheck disable=SC2166
+    if [ "${MAJORVERSION}" = "8" ] && echo "$SBOMFILE" | grep _x64_; then
+      EXPECTED_COMPILER="clang (clang/LLVM)"
+    fi
   fi
-  [ "${MAJORVERSION}" = "8" ] && EXPECTED_GCC=7.5.0
-  [ "${MAJORVERSION}" = "11" ] && EXPECTED_GCC=7.5.0
-  [ "${MAJORVERSION}" = "17" ] && EXPECTED_GCC=10.3.0
-  [ "${MAJORVERSION}" -ge 20 ] && EXPECTED_GCC=11.3.0
-  [ "${MAJORVERSION}" -ge 25 ] && EXPECTED_GCC=14.2.0
-  EXPECTED_ALSA=1.1.8
-  if echo "$SBOMFILE" | grep _aarch64_ > /dev/null; then
-     EXPECTED_ALSA=1.1.6 # Linux/aarch64 uses CentOS7.6 devkit, not 7.9
+
+  # Skip SCM check if EXPECTED_SCM_REF parameter is empty
+  if [ -n "${EXPECTED_SCM_REF}" ]; then
+    [ "${EXPECTED_SCM_REF}" != "${SCM_REF}" ] && echo "ERROR: SCM_REF not ${EXPECTED_SCM_REF} (SBOM has ${SCM_REF})" && RC=1 
   fi
-  if echo "$SBOMFILE" | grep _riscv64_ > /dev/null; then
-    EXPECTED_GCC=14.2.0
-    EXPECTED_GLIBC=2.27 # Fedora 28
-    EXPECTED_ALSA=1.1.1
+  if echo "$SBOMFILE" | grep 'linux_'; then
+    [ "${GLIBC}"      != "$EXPECTED_GLIBC"   ] && echo "ERROR: GLIBC version not ${EXPECTED_GLIBC} (SBOM has ${GLIBC})" && RC=1
+    [ "${GCC}"        != "$EXPECTED_GCC"     ] && echo "ERROR: GCC version not ${EXPECTED_GCC} (SBOM has ${GCC})"     && RC=1
   fi
-#elif echo $SBOMFILE | grep _mac_; then
-#  EXPECTED_COMPILER="clang (clang/LLVM from Xcode 10.3)"
-elif echo "$SBOMFILE" | grep 64_windows_; then
-  EXPECTED_COMPILER="microsoft (Microsoft Visual Studio 2022)"
-elif echo "$SBOMFILE" | grep _x86-32_windows_; then
-  EXPECTED_COMPILER="microsoft (Microsoft Visual Studio 2022)"
-elif echo "$SBOMFILE" | grep _mac_; then
-  # NOTE: mac/x64 native builds >=11 were using "clang (clang/LLVM from Xcode 10.3)"
-  EXPECTED_COMPILER="clang (clang/LLVM from Xcode 15.2)"
-  # shellcheck disable=SC2166
-  if [ "${MAJORVERSION}" = "8" ] && echo "$SBOMFILE" | grep _x64_; then
-    EXPECTED_COMPILER="clang (clang/LLVM)"
+  echo "BOOTJDK is ${BOOTJDK}"
+  [ "${COMPILER}"   != "$EXPECTED_COMPILER" ] && echo "ERROR: Compiler version not ${EXPECTED_COMPILER} (SBOM has ${COMPILER})"   && RC=1
+  [ "${ALSA}"       != "$EXPECTED_ALSA"     ] && echo "NOTE: ALSA version not ${EXPECTED_ALSA} (SBOM has ${ALSA}) - ignoring because ALSA version is determined by devkit now"  # && RC=1
+  GITURL=$(jq '.components[].properties[] | select(.name|test("OpenJDK Source Commit")) | .value' "$SBOMFILE" | tr -d \" | uniq)
+  TEMURIN_BUILD_REF=$(jq '.components[].properties[] | select(.name|test("Temurin Build Ref")) | .value' "$SBOMFILE" | tr -d \" | uniq)
+}
+
+# Parses the SBOM once with TemurinSBOMValidator, which checks the same expected values
+validateWithJava() {
+  FACTS_FILE="$(mktemp)"
+  if ! "${JAVA_HOME:+${JAVA_HOME}/bin/}java" -cp "${SBOM_VALIDATOR_CLASSPATH}" temurin.sbom.TemurinSBOMValidator \
+       --jsonFile "$SBOMFILE" --majorVersion "$MAJORVERSION" --scmRef "$EXPECTED_SCM_REF" --facts "$FACTS_FILE"; then
+    RC=1
   fi
-fi
+  FREETYPE=$(sed -n 's/^FREETYPE=//p' "$FACTS_FILE")
+  GITURL=$(sed -n 's/^OPENJDK_SOURCE_COMMIT=//p' "$FACTS_FILE")
+  TEMURIN_BUILD_REF=$(sed -n 's/^TEMURIN_BUILD_REF=//p' "$FACTS_FILE")
+  rm -f "$FACTS_FILE"
+}
+
+# Takes the facts TemurinSBOMBulkValidator --factsDir already checked, leaving the checks below that need the network
+readFacts() {
+  FREETYPE=$(sed -n 's/^FREETYPE=//p' "$SBOM_FACTS_FILE")
+  GITURL=$(sed -n 's/^OPENJDK_SOURCE_COMMIT=//p' "$SBOM_FACTS_FILE")
+  TEMURIN_BUILD_REF=$(sed -n 's/^TEMURIN_BUILD_REF=//p' "$SBOM_FACTS_FILE")
+  EXPECTED_SCM_REF=$(sed -n 's/^EXPECTED_SCM_REF=//p' "$SBOM_FACTS_FILE")
+}
 
 RC=0
 
-# Skip SCM check if EXPECTED_SCM_REF parameter is empty
-if [ -n "${EXPECTED_SCM_REF}" ]; then
-  [ "${EXPECTED_SCM_REF}" != "${SCM_REF}" ] && echo "ERROR: SCM_REF not ${EXPECTED_SCM_REF} (SBOM has ${SCM_REF})" && RC=1 
-fi
-if echo "$SBOMFILE" | grep 'linux_'; then
-	[ "${GLIBC}"      != "$EXPECTED_GLIBC"   ] && echo "ERROR: GLIBC version not ${EXPECTED_GLIBC} (SBOM has ${GLIBC})" && RC=1
-	[ "${GCC}"        != "$EXPECTED_GCC"     ] && echo "ERROR: GCC version not ${EXPECTED_GCC} (SBOM has ${GCC})"     && RC=1
+# SBOM_FACTS_FILE is a facts file of TemurinSBOMBulkValidator --factsDir for this SBOM
+# SBOM_VALIDATOR_CLASSPATH is the classpath of the cyclonedx-lib jars (temurin-gen-sbom.jar and its dependencies)
+if [ -n "${SBOM_FACTS_FILE}" ]; then
+  readFacts
+elif [ -n "${SBOM_VALIDATOR_CLASSPATH}" ]; then
+  validateWithJava
+else
+  validateWithJq
 fi
-echo "BOOTJDK is ${BOOTJDK}"
-[ "${COMPILER}"   != "$EXPECTED_COMPILER" ] && echo "ERROR: Compiler version not ${EXPECTED_COMPILER} (SBOM has ${COMPILER})"   && RC=1
-[ "${ALSA}"       != "$EXPECTED_ALSA"     ] && echo "NOTE: ALSA version not ${EXPECTED_ALSA} (SBOM has ${ALSA}) - ignoring because ALSA version is determined by devkit now"  # && RC=1
 
 # shellcheck disable=SC3037
 echo "Checking for JDK source SHA validity..."
-GITURL=$(jq '.components[].properties[] | select(.name|test("OpenJDK Source Commit")) | .value' "$1" | tr -d \" | uniq)
 GITREPO=$(echo "$GITURL" | cut -d/ -f1-5)
 GITSHA=$(echo "$GITURL" | cut -d/ -f7)
 if [ -z "${EXPECTED_SCM_REF}" ]; then
@@ -178,7 +213,7 @@ fi
 # shellcheck disable=SC3037
 if [ -n "${EXPECTED_SCM_REF}" ]; then
   echo -n "Checking for temurin-build SHA validity: "
-  GITSHA=$(jq '.components[].properties[] | select(.name|test("Temurin Build Ref")) | .value' "$1" | tr -d \" | uniq)
+  GITSHA="${TEMURIN_BUILD_REF}"
   GITREPO=$(echo "$GITSHA" | cut -d/ -f1-5)
   GITSHA=$(echo  "$GITSHA" | cut -d/ -f7)
   echo "Checking for temurin-build SHA $GITSHA in ${GITREPO}"